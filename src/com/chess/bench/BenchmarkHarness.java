@@ -0,0 +1,102 @@
+package com.chess.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+public final class BenchmarkHarness {
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+    private volatile int sink;
+
+    public BenchmarkHarness(final int warmupIterations,
+                            final int measurementIterations,
+                            final long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    public BenchmarkResult run(final String name,
+                               final Supplier<?> operation) {
+        final PrintStream console = System.out;
+        //strategies report progress on System.out, keep it out of the measurement
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+            }
+        }));
+        try {
+            for (int i = 0; i < this.warmupIterations; i++) {
+                runIteration(operation);
+            }
+            final double[] opsPerSecond = new double[this.measurementIterations];
+            for (int i = 0; i < this.measurementIterations; i++) {
+                opsPerSecond[i] = runIteration(operation);
+            }
+            return new BenchmarkResult(name, opsPerSecond);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private double runIteration(final Supplier<?> operation) {
+        final long deadline = System.nanoTime() + this.iterationMillis * 1000000L;
+        final long startTime = System.nanoTime();
+        long operations = 0;
+        long now;
+        do {
+            consume(operation.get());
+            operations++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        return (operations * 1000000000.0d) / (now - startTime);
+    }
+
+    private void consume(final Object result) {
+        this.sink += result == null ? 0 : result.hashCode();
+    }
+
+    public static final class BenchmarkResult {
+
+        private final String name;
+        private final double mean;
+        private final double deviation;
+
+        BenchmarkResult(final String name,
+                        final double[] samples) {
+            this.name = name;
+            double total = 0;
+            for (final double sample : samples) {
+                total += sample;
+            }
+            this.mean = total / samples.length;
+            double squares = 0;
+            for (final double sample : samples) {
+                squares += (sample - this.mean) * (sample - this.mean);
+            }
+            this.deviation = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public double getOpsPerSecond() {
+            return this.mean;
+        }
+
+        public double getDeviation() {
+            return this.deviation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-48s %14.3f ops/s  +- %12.3f  (%.4f ms/op)", this.name, this.mean, this.deviation,
+                    this.mean == 0 ? 0 : 1000.0d / this.mean);
+        }
+    }
+
+}
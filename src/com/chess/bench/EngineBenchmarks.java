@@ -0,0 +1,123 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Board.Builder;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MutableBoard;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.player.ai.PawnStructureAnalyzer;
+import com.chess.engine.classic.player.ai.StandardBoardEvaluator;
+import com.chess.engine.classic.player.ai.StockAlphaBeta;
+import com.chess.engine.classic.player.ai.TranspositionTable;
+import com.chess.bench.BenchmarkHarness.BenchmarkResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public final class EngineBenchmarks {
+
+    private EngineBenchmarks() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    static Supplier<Board> buildBoard(final Board board) {
+        final Piece[] pieces = board.getAllPieces().toArray(new Piece[0]);
+        return () -> {
+            final Builder builder = new Builder();
+            for (final Piece piece : pieces) {
+                builder.setPiece(piece);
+            }
+            builder.setMoveMaker(board.currentPlayer().getAlliance());
+            builder.setEnPassantPawn(board.getEnPassantPawn());
+            return builder.build();
+        };
+    }
+
+    static Supplier<Board> executeMove(final Board board) {
+        final Move[] moves = board.currentPlayer().getLegalMoves().toArray(new Move[0]);
+        final int[] index = {0};
+        return () -> moves[index[0]++ % moves.length].execute();
+    }
+
+    static Supplier<Object> makeMove(final Board board) {
+        final Move[] moves = board.currentPlayer().getLegalMoves().toArray(new Move[0]);
+        final int[] index = {0};
+        return () -> board.currentPlayer().makeMove(moves[index[0]++ % moves.length]).getMoveStatus();
+    }
+
+    static Supplier<Object> makeUnmakeMove(final Board board) {
+        final MutableBoard mutableBoard = MutableBoard.fromBoard(board);
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int moveCount = mutableBoard.generateMoves(moves);
+        final int[] index = {0};
+        return () -> {
+            final boolean isLegal = mutableBoard.makeMove(moves[index[0]++ % moveCount]);
+            if (isLegal) {
+                mutableBoard.unmakeMove();
+            }
+            return isLegal;
+        };
+    }
+
+    static Supplier<Integer> generateMoves(final Board board) {
+        final MutableBoard mutableBoard = MutableBoard.fromBoard(board);
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        return () -> mutableBoard.generateMoves(moves);
+    }
+
+    static Supplier<Integer> evaluate(final Board board) {
+        return () -> StandardBoardEvaluator.get().evaluate(board, 0);
+    }
+
+    static Supplier<Integer> evaluateByFeature(final Board board) {
+        return () -> FeatureEvaluator.evaluate(board, 0);
+    }
+
+    static Supplier<Integer> pawnStructure(final Board board) {
+        return () -> PawnStructureAnalyzer.get().pawnStructureScore(board.currentPlayer()) +
+                     PawnStructureAnalyzer.get().pawnStructureScore(board.currentPlayer().getOpponent());
+    }
+
+    static Supplier<Move> search(final Board board,
+                                 final int depth,
+                                 final ForkJoinPool pool) {
+        //a private table cleared per run, otherwise every run after the first is answered from the cache
+        final TranspositionTable transpositionTable = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.AGE_THEN_DEPTH);
+        return () -> {
+            transpositionTable.clear();
+            return new StockAlphaBeta(depth, transpositionTable, pool).execute(board);
+        };
+    }
+
+    //usage: EngineBenchmarks [measurementIterations] [iterationMillis] [searchDepth]
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000L;
+        final int searchDepth = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        final BenchmarkHarness harness = new BenchmarkHarness(Math.max(1, iterations / 2), iterations, iterationMillis);
+        final List<BenchmarkResult> results = new ArrayList<>();
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            final Board board = position.createBoard();
+            System.out.println("benchmarking " + position + " : " + position.getFen());
+            results.add(harness.run(position + " Board.Builder.build", buildBoard(board)));
+            results.add(harness.run(position + " Move.execute", executeMove(board)));
+            results.add(harness.run(position + " Player.makeMove", makeMove(board)));
+            results.add(harness.run(position + " MutableBoard.makeMove/unmakeMove", makeUnmakeMove(board)));
+            results.add(harness.run(position + " MutableBoard.generateMoves", generateMoves(board)));
+            results.add(harness.run(position + " StandardBoardEvaluator.evaluate", evaluate(board)));
+            results.add(harness.run(position + " FeatureEvaluator.evaluate", evaluateByFeature(board)));
+            results.add(harness.run(position + " PawnStructureAnalyzer", pawnStructure(board)));
+            results.add(harness.run(position + " StockAlphaBeta(" + searchDepth + ")", search(board, searchDepth, null)));
+            results.add(harness.run(position + " StockAlphaBeta(" + searchDepth + ") x" + pool.getParallelism(),
+                    search(board, searchDepth, pool)));
+        }
+        pool.shutdown();
+        for (final BenchmarkResult result : results) {
+            System.out.println(result);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.board.MutableBoard;
+import com.chess.engine.classic.board.PackedMove;
+import com.chess.engine.classic.board.PieceSquareTables;
+import com.chess.engine.classic.player.ai.StandardBoardEvaluator;
+
+public final class EvaluatorParity {
+
+    //the depths handed to the evaluator, a mate is scored differently at each
+    private static final int[] EVALUATION_DEPTHS = {0, 1, 3};
+
+    private EvaluatorParity() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    //every position reachable from the reference positions in up to plies moves is evaluated both ways
+    static long[] compare(final Board board,
+                          final int plies,
+                          final long[] counts) {
+        final StandardBoardEvaluator evaluator = StandardBoardEvaluator.get();
+        for (final int depth : EVALUATION_DEPTHS) {
+            final int singlePass = evaluator.evaluate(board, depth);
+            final int byFeature = FeatureEvaluator.evaluate(board, depth);
+            counts[0]++;
+            if (singlePass != byFeature) {
+                counts[1]++;
+                if (counts[1] <= 10) {
+                    System.out.println("mismatch at depth " + depth + ": " + singlePass + " != " + byFeature + "\n" + board);
+                }
+            }
+        }
+        if (plies > 0) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (moveTransition.getMoveStatus().isDone()) {
+                    compare(moveTransition.getToBoard(), plies - 1, counts);
+                }
+            }
+        }
+        return counts;
+    }
+
+    //the incremental material and location score of a mutable board against the same board counted from scratch,
+    //after every make and again after every unmake
+    static long[] compare(final MutableBoard board,
+                          final int plies,
+                          final int[][] moveBuffers,
+                          final long[] counts) {
+        counts[0]++;
+        if (board.getPieceSquareScore() != PieceSquareTables.calculateScore(board.toBoard())) {
+            counts[1]++;
+            if (counts[1] <= 10) {
+                System.out.println("piece square mismatch: " + board.getPieceSquareScore() + "\n" + board);
+            }
+        }
+        if (plies > 0) {
+            final int[] moves = moveBuffers[plies];
+            final int moveCount = board.generateMoves(moves);
+            for (int i = 0; i < moveCount; i++) {
+                if (board.makeMove(moves[i])) {
+                    compare(board, plies - 1, moveBuffers, counts);
+                    board.unmakeMove();
+                    compare(board, 0, moveBuffers, counts);
+                }
+            }
+        }
+        return counts;
+    }
+
+    //usage: EvaluatorParity [plies]
+    public static void main(final String[] args) {
+        final int plies = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        long mismatches = 0;
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            final long[] counts = compare(position.createBoard(), plies, new long[2]);
+            final long[] mutableCounts = compare(MutableBoard.fromBoard(position.createBoard()), plies,
+                    PackedMove.createMoveBuffers(plies + 1), new long[2]);
+            System.out.printf("%-12s evaluations = %10d mismatches = %d mutable board checks = %10d mismatches = %d%n",
+                    position, counts[0], counts[1], mutableCounts[0], mutableCounts[1]);
+            mismatches += counts[1] + mutableCounts[1];
+        }
+        if (mismatches != 0) {
+            throw new RuntimeException(mismatches + " evaluations differ");
+        }
+    }
+
+}
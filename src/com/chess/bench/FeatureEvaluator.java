@@ -0,0 +1,92 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.player.Player;
+import com.chess.engine.classic.player.ai.PawnStructureAnalyzer;
+
+import static com.chess.engine.classic.pieces.Piece.PieceType.BISHOP;
+
+//the evaluation feature by feature, the way StandardBoardEvaluator was written before evaluate() was folded into
+//one pass. kept as the reference the single pass is checked against, with the same weights
+final class FeatureEvaluator {
+
+    private final static int CHECK_MATE_BONUS = 10000;
+    private final static int CHECK_BONUS = 45;
+    private final static int CASTLE_BONUS = 25;
+    private final static int MOBILITY_MULTIPLIER = 5;
+    private final static int ATTACK_MULTIPLIER = 1;
+    private final static int TWO_BISHOPS_BONUS = 25;
+
+    private FeatureEvaluator() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    static int evaluate(final Board board,
+                        final int depth) {
+        return score(board.whitePlayer(), depth) - score(board.blackPlayer(), depth);
+    }
+
+    private static int score(final Player player,
+                             final int depth) {
+        return mobility(player) +
+               kingThreats(player, depth) +
+               attacks(player) +
+               castle(player) +
+               pieceEvaluations(player) +
+               pawnStructure(player);
+    }
+
+    private static int attacks(final Player player) {
+        int attackScore = 0;
+        for(final Move move : player.getLegalMoves()) {
+            if(move.isAttack()) {
+                final Piece movedPiece = move.getMovedPiece();
+                final Piece attackedPiece = move.getAttackedPiece();
+                if(movedPiece.getPieceValue() <= attackedPiece.getPieceValue()) {
+                    attackScore++;
+                }
+            }
+        }
+        return attackScore * ATTACK_MULTIPLIER;
+    }
+
+    private static int pieceEvaluations(final Player player) {
+        int pieceValuationScore = 0;
+        int numBishops = 0;
+        for (final Piece piece : player.getActivePieces()) {
+            pieceValuationScore += piece.getPieceValue() + piece.locationBonus();
+            if(piece.getPieceType() == BISHOP) {
+                numBishops++;
+            }
+        }
+        return pieceValuationScore + (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
+    }
+
+    private static int mobility(final Player player) {
+        return MOBILITY_MULTIPLIER * (int)((player.getLegalMoves().size() * 10.0f) / player.getOpponent().getLegalMoves().size());
+    }
+
+    private static int kingThreats(final Player player,
+                                   final int depth) {
+        return player.getOpponent().isInCheckMate() ? CHECK_MATE_BONUS * depthBonus(depth) : check(player);
+    }
+
+    private static int check(final Player player) {
+        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
+    }
+
+    private static int depthBonus(final int depth) {
+        return depth == 0 ? 1 : 100 * depth;
+    }
+
+    private static int castle(final Player player) {
+        return player.isCastled() ? CASTLE_BONUS : 0;
+    }
+
+    private static int pawnStructure(final Player player) {
+        return PawnStructureAnalyzer.get().pawnStructureScore(player);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.player.ai.AlphaBetaWithMoveOrdering;
+import com.chess.engine.classic.player.ai.BitBoardAlphaBeta;
+import com.chess.engine.classic.player.ai.MoveStrategy;
+import com.chess.engine.classic.player.ai.PrincipalVariationSearch;
+import com.chess.engine.classic.player.ai.SearchExtensions;
+import com.chess.engine.classic.player.ai.StockAlphaBeta;
+import com.chess.engine.classic.player.ai.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public final class NodeComparison {
+
+    private NodeComparison() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    //each strategy gets a fresh table so neither profits from the other's entries
+    static String measure(final ReferencePosition position,
+                          final String name,
+                          final Function<TranspositionTable, MoveStrategy> strategyFactory) {
+        final Board board = position.createBoard();
+        final MoveStrategy strategy = strategyFactory.apply(new TranspositionTable(20, TranspositionTable.ReplacementPolicy.AGE_THEN_DEPTH));
+        final long startTime = System.nanoTime();
+        final Move bestMove = strategy.execute(board);
+        final long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+        return String.format("%-12s %-11s best = %-8s boards = %10d time = %7d ms", position, name, bestMove,
+                strategy.getNumBoardsEvaluated(), elapsedMillis);
+    }
+
+    //usage: NodeComparison [searchDepth] [position|all]
+    public static void main(final String[] args) {
+        final int searchDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final String positionName = args.length > 1 ? args[1] : "all";
+        final List<String> results = new ArrayList<>();
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            if (!positionName.equalsIgnoreCase("all") && !positionName.equalsIgnoreCase(position.name())) {
+                continue;
+            }
+            //StockAlphaBeta runs a quiescence search past the horizon, AB+MO is the plain fixed depth tree PVS also searches
+            results.add(measure(position, "StockAB", table -> new StockAlphaBeta(searchDepth, table)));
+            results.add(measure(position, "StockAB+ext", table -> new StockAlphaBeta(searchDepth, table, null,
+                    SearchExtensions.all(searchDepth))));
+            results.add(measure(position, "AB+MO", table -> new AlphaBetaWithMoveOrdering(searchDepth, table)));
+            results.add(measure(position, "PVS", table -> new PrincipalVariationSearch(searchDepth, table)));
+            //material and piece location only, no table, searched on a bitboard copy of the position
+            results.add(measure(position, "BitBoardAB", table -> new BitBoardAlphaBeta(searchDepth)));
+        }
+        for (final String result : results) {
+            System.out.println(result);
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.chess.bench;
+
+import com.chess.engine.bitboards.BitBoardV2;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.board.MutableBoard;
+import com.chess.engine.classic.board.PackedMove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class Perft {
+
+    private Perft() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long perft(final Board board,
+                             final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                nodes += perft(moveTransition.getToBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    public static long perft(final MutableBoard board,
+                             final int depth) {
+        return perft(board, depth, PackedMove.createMoveBuffers(depth + 1));
+    }
+
+    private static long perft(final MutableBoard board,
+                              final int depth,
+                              final int[][] moveBuffers) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final int[] moves = moveBuffers[depth];
+        final int moveCount = board.generateMoves(moves);
+        long nodes = 0L;
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                nodes += perft(board, depth - 1, moveBuffers);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    public static long perft(final BitBoardV2 board,
+                             final int depth) {
+        return perft(board, depth, PackedMove.createMoveBuffers(depth + 1));
+    }
+
+    private static long perft(final BitBoardV2 board,
+                              final int depth,
+                              final int[][] moveBuffers) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final int[] moves = moveBuffers[depth];
+        final int moveCount = board.generateMoves(moves);
+        long nodes = 0L;
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                nodes += perft(board, depth - 1, moveBuffers);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    public static List<DivideEntry> divide(final Board board,
+                                           final int depth) {
+        final List<DivideEntry> entries = new ArrayList<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                entries.add(new DivideEntry(move, perft(moveTransition.getToBoard(), depth - 1)));
+            }
+        }
+        return sortByMoveText(entries);
+    }
+
+    //the root moves are looked up on a classic copy of the board only to name them, the counting stays on the
+    //mutable board
+    public static List<DivideEntry> divide(final MutableBoard board,
+                                           final int depth) {
+        final Board classicBoard = board.toBoard();
+        final int[][] moveBuffers = PackedMove.createMoveBuffers(depth + 1);
+        final int[] moves = moveBuffers[depth];
+        final int moveCount = board.generateMoves(moves);
+        final List<DivideEntry> entries = new ArrayList<>();
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                entries.add(new DivideEntry(PackedMove.toClassicMove(classicBoard, moves[i]), perft(board, depth - 1, moveBuffers)));
+                board.unmakeMove();
+            }
+        }
+        return sortByMoveText(entries);
+    }
+
+    public static List<DivideEntry> divide(final BitBoardV2 board,
+                                           final int depth) {
+        final Board classicBoard = board.toBoard();
+        final int[][] moveBuffers = PackedMove.createMoveBuffers(depth + 1);
+        final int[] moves = moveBuffers[depth];
+        final int moveCount = board.generateMoves(moves);
+        final List<DivideEntry> entries = new ArrayList<>();
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                entries.add(new DivideEntry(PackedMove.toClassicMove(classicBoard, moves[i]), perft(board, depth - 1, moveBuffers)));
+                board.unmakeMove();
+            }
+        }
+        return sortByMoveText(entries);
+    }
+
+    private static List<DivideEntry> sortByMoveText(final List<DivideEntry> entries) {
+        Collections.sort(entries, (e1, e2) -> e1.getMoveText().compareTo(e2.getMoveText()));
+        return Collections.unmodifiableList(entries);
+    }
+
+    public static PerftResult timedPerft(final Board board,
+                                         final int depth) {
+        final long startTime = System.nanoTime();
+        final long nodes = perft(board, depth);
+        return new PerftResult(depth, nodes, System.nanoTime() - startTime);
+    }
+
+    public static PerftResult timedPerft(final MutableBoard board,
+                                         final int depth) {
+        final long startTime = System.nanoTime();
+        final long nodes = perft(board, depth);
+        return new PerftResult(depth, nodes, System.nanoTime() - startTime);
+    }
+
+    public static PerftResult timedPerft(final BitBoardV2 board,
+                                         final int depth) {
+        final long startTime = System.nanoTime();
+        final long nodes = perft(board, depth);
+        return new PerftResult(depth, nodes, System.nanoTime() - startTime);
+    }
+
+    //usage: Perft [maxDepth] [positionName|all] [divide] [mutable|bitboard]
+    public static void main(final String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        final String positionName = args.length > 1 ? args[1] : "all";
+        final List<String> options = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : Collections.emptyList();
+        final boolean showDivide = options.contains("divide");
+        final boolean useMutableBoard = options.contains("mutable");
+        final boolean useBitBoard = options.contains("bitboard");
+        boolean allPassed = true;
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            if (!positionName.equalsIgnoreCase("all") && !positionName.equalsIgnoreCase(position.name())) {
+                continue;
+            }
+            final Board board = position.createBoard();
+            System.out.println(position + " : " + position.getFen());
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                final PerftResult result = useBitBoard ? timedPerft(BitBoardV2.fromFen(position.getFen()), depth) :
+                                           useMutableBoard ? timedPerft(MutableBoard.fromBoard(board), depth) : timedPerft(board, depth);
+                final long expected = position.getExpectedNodes(depth);
+                final String status = expected < 0 ? "unverified" : expected == result.getNodes() ? "ok" : "MISMATCH expected " + expected;
+                if (expected >= 0 && expected != result.getNodes()) {
+                    allPassed = false;
+                }
+                System.out.printf("\t%s [%s]\n", result, status);
+            }
+            if (showDivide) {
+                long total = 0L;
+                final List<DivideEntry> entries = useBitBoard ? divide(BitBoardV2.fromFen(position.getFen()), maxDepth) :
+                                                  useMutableBoard ? divide(MutableBoard.fromBoard(board), maxDepth) : divide(board, maxDepth);
+                for (final DivideEntry entry : entries) {
+                    System.out.println("\t\t" + entry);
+                    total += entry.getNodes();
+                }
+                System.out.println("\t\ttotal = " + total);
+            }
+        }
+        System.out.println(allPassed ? "perft OK" : "perft FAILED");
+    }
+
+    public static final class PerftResult {
+
+        private final int depth;
+        private final long nodes;
+        private final long elapsedNanos;
+
+        PerftResult(final int depth,
+                    final long nodes,
+                    final long elapsedNanos) {
+            this.depth = depth;
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getDepth() {
+            return this.depth;
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        public long getElapsedNanos() {
+            return this.elapsedNanos;
+        }
+
+        public double getNodesPerSecond() {
+            return this.elapsedNanos == 0 ? 0 : (this.nodes * 1000000000.0d) / this.elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("depth = %d nodes = %d time = %d ms nps = %.1f", this.depth, this.nodes,
+                    this.elapsedNanos / 1000000, getNodesPerSecond());
+        }
+    }
+
+    public static final class DivideEntry {
+
+        private final Move move;
+        private final long nodes;
+
+        DivideEntry(final Move move,
+                    final long nodes) {
+            this.move = move;
+            this.nodes = nodes;
+        }
+
+        public Move getMove() {
+            return this.move;
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        String getMoveText() {
+            return BoardUtils.INSTANCE.getPositionAtCoordinate(this.move.getCurrentCoordinate()) +
+                   BoardUtils.INSTANCE.getPositionAtCoordinate(this.move.getDestinationCoordinate()) +
+                   (this.move instanceof Move.PawnPromotion ? this.move.toString().substring(this.move.toString().length() - 1).toLowerCase() : "");
+        }
+
+        @Override
+        public String toString() {
+            return getMoveText() + ": " + this.nodes;
+        }
+    }
+
+}
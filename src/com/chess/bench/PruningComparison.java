@@ -0,0 +1,55 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.player.ai.PrincipalVariationSearch;
+import com.chess.engine.classic.player.ai.PrincipalVariationSearch.Pruning;
+import com.chess.engine.classic.player.ai.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public final class PruningComparison {
+
+    private PruningComparison() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    static String measure(final ReferencePosition position,
+                          final int searchDepth,
+                          final Set<Pruning> pruning) {
+        final Board board = position.createBoard();
+        final PrincipalVariationSearch strategy = new PrincipalVariationSearch(searchDepth,
+                new TranspositionTable(20, TranspositionTable.ReplacementPolicy.AGE_THEN_DEPTH), pruning);
+        final Move bestMove = strategy.execute(board);
+        return String.format("%-12s %-48s best = %-8s boards = %10d time = %7d ms", position, strategy, bestMove,
+                strategy.getNumBoardsEvaluated(), strategy.getExecutionTime());
+    }
+
+    //usage: PruningComparison [searchDepth] [position|all], every technique is measured alone against none and all
+    public static void main(final String[] args) {
+        final int searchDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final String positionName = args.length > 1 ? args[1] : "all";
+        final List<Set<Pruning>> configurations = new ArrayList<>();
+        configurations.add(EnumSet.noneOf(Pruning.class));
+        for (final Pruning technique : Pruning.values()) {
+            configurations.add(EnumSet.of(technique));
+        }
+        configurations.add(EnumSet.allOf(Pruning.class));
+        final List<String> results = new ArrayList<>();
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            if (!positionName.equalsIgnoreCase("all") && !positionName.equalsIgnoreCase(position.name())) {
+                continue;
+            }
+            for (final Set<Pruning> pruning : configurations) {
+                results.add(measure(position, searchDepth, pruning));
+            }
+        }
+        for (final String result : results) {
+            System.out.println(result);
+        }
+    }
+
+}
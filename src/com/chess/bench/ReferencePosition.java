@@ -0,0 +1,47 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.pgn.FenUtilities;
+
+public enum ReferencePosition {
+
+    STANDARD("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            20L, 400L, 8902L, 197281L, 4865609L),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            48L, 2039L, 97862L, 4085603L, 193690690L),
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            14L, 191L, 2812L, 43238L, 674624L),
+    PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            6L, 264L, 9467L, 422333L, 15833292L),
+    MIDDLE_GAME("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            44L, 1486L, 62379L, 2103487L, 89941194L);
+
+    private final String fen;
+    private final long[] expectedNodes;
+
+    ReferencePosition(final String fen,
+                      final long... expectedNodes) {
+        this.fen = fen;
+        this.expectedNodes = expectedNodes;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createGameFromFEN(this.fen);
+    }
+
+    public int getMaxVerifiedDepth() {
+        return this.expectedNodes.length;
+    }
+
+    public long getExpectedNodes(final int depth) {
+        if(depth < 1 || depth > this.expectedNodes.length) {
+            return -1;
+        }
+        return this.expectedNodes[depth - 1];
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.chess.bench;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.player.ai.LazySMP;
+import com.chess.engine.classic.player.ai.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SmpScaling {
+
+    private SmpScaling() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    //every run starts from an empty table so the thread counts are compared on equal terms
+    static String measure(final ReferencePosition position,
+                          final int searchDepth,
+                          final int numThreads) {
+        final Board board = position.createBoard();
+        final LazySMP strategy = new LazySMP(searchDepth, numThreads,
+                new TranspositionTable(20, TranspositionTable.ReplacementPolicy.AGE_THEN_DEPTH));
+        final Move bestMove = strategy.execute(board);
+        strategy.shutdown();
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-12s threads = %2d best = %-8s boards = %10d time = %7d ms rate = %10.1f boards/s",
+                position, numThreads, bestMove, strategy.getNumBoardsEvaluated(), strategy.getExecutionTime(),
+                1000 * ((double) strategy.getNumBoardsEvaluated() / Math.max(1, strategy.getExecutionTime()))));
+        builder.append("\n\t\ttime to depth:");
+        for (int depth = 1; depth <= searchDepth; depth++) {
+            builder.append(String.format(" %d = %d ms", depth, strategy.getTimeToDepth(depth)));
+        }
+        builder.append("\n\t\tboards per thread:");
+        for (int threadId = 0; threadId < numThreads; threadId++) {
+            builder.append(" ").append(strategy.getThreadBoardsEvaluated(threadId));
+        }
+        return builder.toString();
+    }
+
+    //usage: SmpScaling [searchDepth] [maxThreads] [position|all], thread counts double from 1 up to maxThreads
+    public static void main(final String[] args) {
+        final int searchDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final String positionName = args.length > 2 ? args[2] : "all";
+        final List<String> results = new ArrayList<>();
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            if (!positionName.equalsIgnoreCase("all") && !positionName.equalsIgnoreCase(position.name())) {
+                continue;
+            }
+            for (int numThreads = 1; numThreads <= maxThreads; numThreads *= 2) {
+                results.add(measure(position, searchDepth, numThreads));
+            }
+        }
+        for (final String result : results) {
+            System.out.println(result);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.chess.engine.bitboards;
+
+public final class BitBoardUtils {
+
+    //bit n is tile n of the classic board, a8 is bit 0 and h1 is bit 63
+    public static final long EMPTY_SET = 0L;
+    public static final long FULL_SET = 0xFFFFFFFFFFFFFFFFL;
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_B = 0x0202020202020202L;
+    public static final long FILE_C = 0x0404040404040404L;
+    public static final long FILE_D = 0x0808080808080808L;
+    public static final long FILE_E = 0x1010101010101010L;
+    public static final long FILE_F = 0x2020202020202020L;
+    public static final long FILE_G = 0x4040404040404040L;
+    public static final long FILE_H = 0x8080808080808080L;
+
+    public static final long RANK_8 = 0x00000000000000FFL;
+    public static final long RANK_7 = 0x000000000000FF00L;
+    public static final long RANK_6 = 0x0000000000FF0000L;
+    public static final long RANK_5 = 0x00000000FF000000L;
+    public static final long RANK_4 = 0x000000FF00000000L;
+    public static final long RANK_3 = 0x0000FF0000000000L;
+    public static final long RANK_2 = 0x00FF000000000000L;
+    public static final long RANK_1 = 0xFF00000000000000L;
+
+    //a8 to h1, the other diagonals running that way are shifts of it
+    public static final long A8_H1_DIAGONAL = 0x8040201008040201L;
+    //h8 to a1, the other diagonals running that way are shifts of it
+    public static final long H8_A1_DIAGONAL = 0x0102040810204080L;
+
+    public static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+    public static final long DARK_SQUARES = ~LIGHT_SQUARES;
+
+    private static final long[] FILES = {FILE_A, FILE_B, FILE_C, FILE_D, FILE_E, FILE_F, FILE_G, FILE_H};
+    private static final long[] RANKS = {RANK_8, RANK_7, RANK_6, RANK_5, RANK_4, RANK_3, RANK_2, RANK_1};
+    private static final long[] DIAGONALS = new long[64];
+    private static final long[] ANTI_DIAGONALS = new long[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            //column minus row is the same along an a8-h1 diagonal, column plus row along an h8-a1 one
+            final int diagonal = square % 8 - square / 8;
+            final int antiDiagonal = square % 8 + square / 8 - 7;
+            DIAGONALS[square] = diagonal >= 0 ? (A8_H1_DIAGONAL << diagonal) & ~lowerFiles(diagonal) :
+                                                (A8_H1_DIAGONAL >>> -diagonal) & ~upperFiles(-diagonal);
+            ANTI_DIAGONALS[square] = antiDiagonal >= 0 ? (H8_A1_DIAGONAL << antiDiagonal) & ~lowerFiles(antiDiagonal) :
+                                                         (H8_A1_DIAGONAL >>> -antiDiagonal) & ~upperFiles(-antiDiagonal);
+        }
+    }
+
+    private BitBoardUtils() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long bit(final int square) {
+        return 1L << square;
+    }
+
+    public static boolean isSet(final long bitBoard,
+                                final int square) {
+        return (bitBoard & (1L << square)) != 0;
+    }
+
+    public static int popCount(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    //the lowest set square, 64 for an empty set
+    public static int lowestSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    //drops the lowest set square, loop with lowestSquare until the set is empty
+    public static long withoutLowestSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static long fileMask(final int square) {
+        return FILES[square % 8];
+    }
+
+    public static long rankMask(final int square) {
+        return RANKS[square / 8];
+    }
+
+    public static long diagonalMask(final int square) {
+        return DIAGONALS[square];
+    }
+
+    public static long antiDiagonalMask(final int square) {
+        return ANTI_DIAGONALS[square];
+    }
+
+    public static long north(final long bitBoard) {
+        return bitBoard >>> 8;
+    }
+
+    public static long south(final long bitBoard) {
+        return bitBoard << 8;
+    }
+
+    public static long east(final long bitBoard) {
+        return (bitBoard << 1) & ~FILE_A;
+    }
+
+    public static long west(final long bitBoard) {
+        return (bitBoard >>> 1) & ~FILE_H;
+    }
+
+    public static long northEast(final long bitBoard) {
+        return (bitBoard >>> 7) & ~FILE_A;
+    }
+
+    public static long northWest(final long bitBoard) {
+        return (bitBoard >>> 9) & ~FILE_H;
+    }
+
+    public static long southEast(final long bitBoard) {
+        return (bitBoard << 9) & ~FILE_A;
+    }
+
+    public static long southWest(final long bitBoard) {
+        return (bitBoard << 7) & ~FILE_H;
+    }
+
+    public static String toString(final long bitBoard) {
+        final StringBuilder builder = new StringBuilder();
+        for (int square = 0; square < 64; square++) {
+            builder.append(isSet(bitBoard, square) ? " 1 " : " . ");
+            if ((square + 1) % 8 == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static long lowerFiles(final int count) {
+        long files = EMPTY_SET;
+        for (int i = 0; i < count; i++) {
+            files |= FILES[i];
+        }
+        return files;
+    }
+
+    private static long upperFiles(final int count) {
+        long files = EMPTY_SET;
+        for (int i = 0; i < count; i++) {
+            files |= FILES[7 - i];
+        }
+        return files;
+    }
+
+}
@@ -1,73 +1,85 @@
 package com.chess.engine.bitboards;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.primitives.Longs;
-
-import java.util.List;
-
-public class BitBoardV2 {
-
-    private final long whitePawns;
-    private final long whiteKnights;
-    private final long whiteBishops;
-    private final long whiteRooks;
-    private final long whiteQueen;
-    private final long whiteKing;
-
-    private final long blackPawns;
-    private final long blackKnights;
-    private final long blackBishops;
-    private final long blackRooks;
-    private final long blackQueen;
-    private final long blackKing;
-
-    private final long whitePieces;
-    private final long blackPieces;
-
-    private static final long WHITE_PAWNS_INITIAL_POSITIONS = 0x000000000000FF00L;
-    private static final long WHITE_KNIGHTS_INITIAL_POSITIONS = 0x0000000000000042L;
-    private static final long WHITE_BISHOPS_INITIAL_POSITIONS = 0x0000000000000024L;
-    private static final long WHITE_ROOKS_INITIAL_POSITIONS = 0x0000000000000081L;
-    private static final long WHITE_QUEEN_INITIAL_POSITION = 0x0000000000000010L;
-    private static final long WHITE_KING_INITIAL_POSITION = 0x0000000000000008L;
-    private static final long BLACK_PAWNS_INITIAL_POSITIONS = 0x00FF000000000000L;
-    private static final long BLACK_KNIGHTS_INITIAL_POSITIONS = 0x4200000000000000L;
-    private static final long BLACK_BISHOPS_INITIAL_POSITIONS = 0x2400000000000000L;
-    private static final long BLACK_ROOKS_INITIAL_POSITIONS = 0x8100000000000000L;
-    private static final long BLACK_QUEEN_INITIAL_POSITION = 0x1000000000000000L;
-    private static final long BLACK_KING_INITIAL_POSITION = 0x0800000000000000L;
-
-    private static final long ALL_TILES = 0xFFFFFFFFFFFFFFFFL;
-    private static final List<Long> KNIGHT_LOOKUP_TABLE = calculateKnightLookupTable();
-    private final static byte[] BISHOP_DIAGONALS = { -9, -7, 7, 9 };
-
-    private BitBoardV2(final long whitePawns,
-                       final long whiteKnights,
-                       final long whiteBishops,
-                       final long whiteRooks,
-                       final long whiteQueen,
-                       final long whiteKing,
-                       final long blackPawns,
-                       final long blackKnights,
-                       final long blackBishops,
-                       final long blackRooks,
-                       final long blackQueen,
-                       final long blackKing) {
-        this.whitePawns = whitePawns;
-        this.whiteKnights = whiteKnights;
-        this.whiteBishops = whiteBishops;
-        this.whiteRooks = whiteRooks;
-        this.whiteQueen = whiteQueen;
-        this.whiteKing = whiteKing;
-        this.blackPawns = blackPawns;
-        this.blackKnights = blackKnights;
-        this.blackBishops = blackBishops;
-        this.blackRooks = blackRooks;
-        this.blackQueen = blackQueen;
-        this.blackKing = blackKing;
-
-        this.whitePieces = calculateWhitePieces();
-        this.blackPieces = calculateBlackPieces();
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.PackedMove;
+import com.chess.engine.classic.board.PieceSquareTables;
+import com.chess.engine.classic.pieces.*;
+
+public final class BitBoardV2 {
+
+    public static final int MAX_PLY = 256;
+    public static final int MAX_MOVES = PackedMove.MAX_MOVES;
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int EMPTY = 0;
+    public static final int PAWN = 1;
+    public static final int KNIGHT = 2;
+    public static final int BISHOP = 3;
+    public static final int ROOK = 4;
+    public static final int QUEEN = 5;
+    public static final int KING = 6;
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    //bit n is tile n of the classic board, a8 is bit 0 and h1 is bit 63
+    private static final long WHITE_PAWNS_INITIAL_POSITIONS = 0x00FF000000000000L;
+    private static final long WHITE_KNIGHTS_INITIAL_POSITIONS = 0x4200000000000000L;
+    private static final long WHITE_BISHOPS_INITIAL_POSITIONS = 0x2400000000000000L;
+    private static final long WHITE_ROOKS_INITIAL_POSITIONS = 0x8100000000000000L;
+    private static final long WHITE_QUEEN_INITIAL_POSITION = 0x0800000000000000L;
+    private static final long WHITE_KING_INITIAL_POSITION = 0x1000000000000000L;
+    private static final long BLACK_PAWNS_INITIAL_POSITIONS = 0x000000000000FF00L;
+    private static final long BLACK_KNIGHTS_INITIAL_POSITIONS = 0x0000000000000042L;
+    private static final long BLACK_BISHOPS_INITIAL_POSITIONS = 0x0000000000000024L;
+    private static final long BLACK_ROOKS_INITIAL_POSITIONS = 0x0000000000000081L;
+    private static final long BLACK_QUEEN_INITIAL_POSITION = 0x0000000000000008L;
+    private static final long BLACK_KING_INITIAL_POSITION = 0x0000000000000010L;
+
+    private static final long WHITE_KING_SIDE_PATH = (1L << 61) | (1L << 62);
+    private static final long WHITE_QUEEN_SIDE_PATH = (1L << 57) | (1L << 58) | (1L << 59);
+    private static final long BLACK_KING_SIDE_PATH = (1L << 5) | (1L << 6);
+    private static final long BLACK_QUEEN_SIDE_PATH = (1L << 1) | (1L << 2) | (1L << 3);
+
+    private static final long[] KNIGHT_ATTACKS = initStepAttacks(new int[][] {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    private static final long[] KING_ATTACKS = initStepAttacks(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    private static final long[][] PAWN_ATTACKS = {
+            initStepAttacks(new int[][] {{-1, -1}, {-1, 1}}),
+            initStepAttacks(new int[][] {{1, -1}, {1, 1}})};
+    private static final int[] CASTLING_MASKS = initCastlingMasks();
+    private static final int[] PROMOTION_TYPES = {QUEEN, ROOK, BISHOP, KNIGHT};
+    private static final String PIECE_LETTERS = "-PNBRQK";
+
+    private final long[][] pieces;
+    private final long[] sidePieces;
+    private long allPieces;
+    private final int[] squares;
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int ply;
+    //material plus location bonus, white minus black, the same sum the classic Board keeps
+    private int pieceSquareScore;
+
+    private final int[] undoMove;
+    private final int[] undoCastlingRights;
+    private final int[] undoEnPassantSquare;
+
+    private BitBoardV2() {
+        this.pieces = new long[2][KING + 1];
+        this.sidePieces = new long[2];
+        this.squares = new int[64];
+        this.enPassantSquare = -1;
+        this.undoMove = new int[MAX_PLY];
+        this.undoCastlingRights = new int[MAX_PLY];
+        this.undoEnPassantSquare = new int[MAX_PLY];
     }
 
     public static BitBoardV2 standardBoard() {
@@ -75,296 +87,508 @@ public class BitBoardV2 {
     }
 
     private static BitBoardV2 createStandardBoard() {
+        final BitBoardV2 board = new BitBoardV2();
+        board.addPieces(WHITE, PAWN, WHITE_PAWNS_INITIAL_POSITIONS);
+        board.addPieces(WHITE, KNIGHT, WHITE_KNIGHTS_INITIAL_POSITIONS);
+        board.addPieces(WHITE, BISHOP, WHITE_BISHOPS_INITIAL_POSITIONS);
+        board.addPieces(WHITE, ROOK, WHITE_ROOKS_INITIAL_POSITIONS);
+        board.addPieces(WHITE, QUEEN, WHITE_QUEEN_INITIAL_POSITION);
+        board.addPieces(WHITE, KING, WHITE_KING_INITIAL_POSITION);
+        board.addPieces(BLACK, PAWN, BLACK_PAWNS_INITIAL_POSITIONS);
+        board.addPieces(BLACK, KNIGHT, BLACK_KNIGHTS_INITIAL_POSITIONS);
+        board.addPieces(BLACK, BISHOP, BLACK_BISHOPS_INITIAL_POSITIONS);
+        board.addPieces(BLACK, ROOK, BLACK_ROOKS_INITIAL_POSITIONS);
+        board.addPieces(BLACK, QUEEN, BLACK_QUEEN_INITIAL_POSITION);
+        board.addPieces(BLACK, KING, BLACK_KING_INITIAL_POSITION);
+        board.castlingRights = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        return board;
+    }
 
-        return new BitBoardV2(WHITE_PAWNS_INITIAL_POSITIONS,
-                              WHITE_KNIGHTS_INITIAL_POSITIONS,
-                              WHITE_BISHOPS_INITIAL_POSITIONS,
-                              WHITE_ROOKS_INITIAL_POSITIONS,
-                              WHITE_QUEEN_INITIAL_POSITION,
-                              WHITE_KING_INITIAL_POSITION,
-                              BLACK_PAWNS_INITIAL_POSITIONS,
-                              BLACK_KNIGHTS_INITIAL_POSITIONS,
-                              BLACK_BISHOPS_INITIAL_POSITIONS,
-                              BLACK_ROOKS_INITIAL_POSITIONS,
-                              BLACK_QUEEN_INITIAL_POSITION,
-                              BLACK_KING_INITIAL_POSITION);
-    }
-
-    public BitBoardV2 calculateLegalMoves() {
-        return new BitBoardV2(calculateWhitePawnLegals(),
-                              calculateWhiteKnightLegals(),
-                              calculateWhiteBishopLegals(),
-                              calculateWhiteRookLegals(),
-                              calculateWhiteQueenLegals(),
-                              calculateWhiteKingLegals(),
-                              calculateBlackPawnLegals(),
-                              calculateBlackKnightLegals(),
-                              calculateBlackBishopLegals(),
-                              calculateBlackRookLegals(),
-                              calculateBlackQueenLegals(),
-                              calculateBlackKingLegals());
-    }
-
-    ////////// ////////// HELPER METHODS BELOW ////////// //////////
-    private long calculateWhitePawnLegals() {
-        final long allPieces = this.whitePieces & this.blackPieces;
-        return (this.whitePawns << 8L & ~(allPieces)) | ((this.whitePawns & WHITE_PAWNS_INITIAL_POSITIONS) << 16L & ~(allPieces));
-    }
-
-    private long calculateBlackPawnLegals() {
-        final long allPieces = this.whitePieces & this.blackPieces;
-        return (this.whitePawns >> 8L & ~(allPieces)) | ((this.whitePawns & BLACK_PAWNS_INITIAL_POSITIONS) >> 16L & ~(allPieces));
-    }
-
-    private long calculateWhiteKnightLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.whiteKnights)) {
-            legals |= KNIGHT_LOOKUP_TABLE.get(position) & ~(this.whitePieces);
-        }
-        return legals;
-    }
-
-    private long calculateBlackKnightLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.blackKnights)) {
-            legals |= KNIGHT_LOOKUP_TABLE.get(position) & ~(this.blackPieces);
-        }
-        return legals;
-    }
-
-    private long calculateWhiteBishopLegals() {
-
-        long legals = 0L;
-        for(final byte position : bitPositions(this.whiteBishops)) {
-            byte candidate = position;
-            for(final byte diagonal : BISHOP_DIAGONALS) {
-                candidate += diagonal;
-                while(candidate >= 0 && candidate < 64 && (candidate | this.whitePawns) == 0L) {
-                    legals |= candidate;
-                    if((candidate | this.blackPieces) != 0L) {
-                        break;
-                    }
-                    candidate += diagonal;
-                }
-            }
+    //reads the placement, side to move, castling and en passant fields, the move counters are not kept
+    public static BitBoardV2 fromFen(final String fen) {
+        final String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new RuntimeException("Invalid FEN " + fen);
         }
-        return legals;
-    }
-
-    private long calculateBlackBishopLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.blackBishops)) {
-            byte candidate = position;
-            for(final byte diagonal : BISHOP_DIAGONALS) {
-                candidate += diagonal;
-                while(candidate >= 0 && candidate < 64 && (candidate | this.blackPieces) == 0L) {
-                    legals |= candidate;
-                    if((candidate | this.whitePieces) != 0L) {
-                        break;
-                    }
-                    candidate += diagonal;
-                }
+        final BitBoardV2 board = new BitBoardV2();
+        int square = 0;
+        for (final char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                continue;
             }
+            if (Character.isDigit(c)) {
+                square += c - '0';
+                continue;
+            }
+            final int type = PIECE_LETTERS.indexOf(Character.toUpperCase(c));
+            if (type <= EMPTY || square >= 64) {
+                throw new RuntimeException("Invalid FEN " + fen);
+            }
+            board.addPiece(Character.isUpperCase(c) ? WHITE : BLACK, type, square++);
+        }
+        if (square != 64 || Long.bitCount(board.pieces[WHITE][KING]) != 1 || Long.bitCount(board.pieces[BLACK][KING]) != 1) {
+            throw new RuntimeException("Invalid FEN " + fen);
         }
-        return legals;
+        board.sideToMove = fields[1].equals("b") ? BLACK : WHITE;
+        for (final char c : fields[2].toCharArray()) {
+            board.castlingRights |= c == 'K' ? WHITE_KING_SIDE : c == 'Q' ? WHITE_QUEEN_SIDE :
+                                    c == 'k' ? BLACK_KING_SIDE : c == 'q' ? BLACK_QUEEN_SIDE : 0;
+        }
+        board.enPassantSquare = fields[3].equals("-") ? -1 : parseSquare(fields[3]);
+        return board;
     }
 
-    private long calculateWhiteRookLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.whiteRooks)) {
-            legals |= position;
+    //castling rights need the king and the rook unmoved on their home tiles, the king not yet castled and the king
+    //still capable of castling that side
+    public static BitBoardV2 fromBoard(final Board board) {
+        final BitBoardV2 bitBoard = new BitBoardV2();
+        for (final Piece piece : board.getAllPieces()) {
+            bitBoard.addPiece(sideOf(piece.getPieceAllegiance()), PackedMove.pieceCode(piece.getPieceType()),
+                    piece.getPiecePosition());
+        }
+        if (Long.bitCount(bitBoard.pieces[WHITE][KING]) != 1 || Long.bitCount(bitBoard.pieces[BLACK][KING]) != 1) {
+            throw new RuntimeException("a board needs exactly one king per side");
         }
-        return legals;
+        bitBoard.sideToMove = sideOf(board.currentPlayer().getAlliance());
+        bitBoard.castlingRights = castlingRights(board, WHITE) | castlingRights(board, BLACK);
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        bitBoard.enPassantSquare = enPassantPawn == null ? -1 :
+                enPassantPawn.getPiecePosition() - pawnDirection(sideOf(enPassantPawn.getPieceAllegiance()));
+        return bitBoard;
     }
 
-    private long calculateBlackRookLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.blackRooks)) {
-            legals |= position;
+    //pawns count as unmoved on their start rank and rooks and kings as long as they keep a castling right, the
+    //classic board cannot tell a castled king from one that simply moved
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        final int enPassantPawnSquare = this.enPassantSquare == -1 ? -1 : this.enPassantSquare + pawnDirection(this.sideToMove ^ 1);
+        for (long remaining = this.allPieces; remaining != 0; remaining &= remaining - 1) {
+            final int square = Long.numberOfTrailingZeros(remaining);
+            final Piece piece = createClassicPiece(square);
+            builder.setPiece(piece);
+            if (square == enPassantPawnSquare) {
+                builder.setEnPassantPawn((Pawn) piece);
+            }
         }
-        return legals;
+        builder.setMoveMaker(this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK);
+        return builder.build();
     }
 
-    private long calculateWhiteQueenLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.whiteQueen)) {
-            legals |= position;
-        }
-        return legals;
+    public int getSideToMove() {
+        return this.sideToMove;
     }
 
-    private long calculateBlackQueenLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.blackQueen)) {
-            legals |= position;
-        }
-        return legals;
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    //the square a pawn capturing en passant lands on, -1 when there is none
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public int getPieceSquareScore() {
+        return this.pieceSquareScore;
+    }
+
+    public long getPieces(final int side,
+                          final int type) {
+        return this.pieces[side][type];
+    }
+
+    public long getPieces(final int side) {
+        return this.sidePieces[side];
+    }
+
+    public long getAllPieces() {
+        return this.allPieces;
+    }
+
+    public int getPieceType(final int square) {
+        return this.squares[square];
+    }
+
+    public int getPieceSide(final int square) {
+        return (this.sidePieces[BLACK] & (1L << square)) != 0 ? BLACK : WHITE;
+    }
+
+    public int getKingSquare(final int side) {
+        return Long.numberOfTrailingZeros(this.pieces[side][KING]);
+    }
+
+    public boolean isInCheck() {
+        return isAttacked(getKingSquare(this.sideToMove), this.sideToMove ^ 1);
+    }
+
+    public boolean isAttacked(final int square,
+                              final int attacker) {
+        final long[] attackerPieces = this.pieces[attacker];
+        return (PAWN_ATTACKS[attacker ^ 1][square] & attackerPieces[PAWN]) != 0 ||
+               (KNIGHT_ATTACKS[square] & attackerPieces[KNIGHT]) != 0 ||
+               (KING_ATTACKS[square] & attackerPieces[KING]) != 0 ||
+               (MagicBitboards.bishopAttacks(square, this.allPieces) & (attackerPieces[BISHOP] | attackerPieces[QUEEN])) != 0 ||
+               (MagicBitboards.rookAttacks(square, this.allPieces) & (attackerPieces[ROOK] | attackerPieces[QUEEN])) != 0;
     }
 
-    private long calculateWhiteKingLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.whiteKing)) {
-            legals |= position;
+    //pseudo legal moves, makeMove turns down the ones that leave the king in check
+    public int generateMoves(final int[] moves) {
+        final int side = this.sideToMove;
+        final int count = generateMoves(side, ~this.sidePieces[side], generatePawnMoves(side, moves, 0), moves);
+        return generateCastleMoves(side, getKingSquare(side), moves, count);
+    }
+
+    //pseudo legal captures and promotions, the moves a quiescence search looks at
+    public int generateCaptures(final int[] moves) {
+        final int side = this.sideToMove;
+        return generateMoves(side, this.sidePieces[side ^ 1], generatePawnCaptures(side, moves, 0), moves);
+    }
+
+    private int generateMoves(final int side,
+                              final long targets,
+                              int count,
+                              final int[] moves) {
+        final long[] ownPieces = this.pieces[side];
+        for (long knights = ownPieces[KNIGHT]; knights != 0; knights &= knights - 1) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            count = addMoves(from, KNIGHT, KNIGHT_ATTACKS[from] & targets, moves, count);
+        }
+        for (long bishops = ownPieces[BISHOP]; bishops != 0; bishops &= bishops - 1) {
+            final int from = Long.numberOfTrailingZeros(bishops);
+            count = addMoves(from, BISHOP, MagicBitboards.bishopAttacks(from, this.allPieces) & targets, moves, count);
+        }
+        for (long rooks = ownPieces[ROOK]; rooks != 0; rooks &= rooks - 1) {
+            final int from = Long.numberOfTrailingZeros(rooks);
+            count = addMoves(from, ROOK, MagicBitboards.rookAttacks(from, this.allPieces) & targets, moves, count);
+        }
+        for (long queens = ownPieces[QUEEN]; queens != 0; queens &= queens - 1) {
+            final int from = Long.numberOfTrailingZeros(queens);
+            count = addMoves(from, QUEEN, MagicBitboards.queenAttacks(from, this.allPieces) & targets, moves, count);
         }
-        return legals;    }
+        final int kingSquare = getKingSquare(side);
+        return addMoves(kingSquare, KING, KING_ATTACKS[kingSquare] & targets, moves, count);
+    }
 
-    private long calculateBlackKingLegals() {
-        long legals = 0L;
-        for(final byte position : bitPositions(this.blackKing)) {
-            legals |= position;
+    public boolean makeMove(final int move) {
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int piece = PackedMove.piece(move);
+        final int captured = PackedMove.captured(move);
+        final int flag = PackedMove.flag(move);
+        final int side = this.sideToMove;
+        final int opponent = side ^ 1;
+        this.undoMove[this.ply] = move;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoEnPassantSquare[this.ply] = this.enPassantSquare;
+        if (flag == PackedMove.EN_PASSANT) {
+            togglePiece(opponent, PAWN, to - pawnDirection(side));
+        } else if (captured != EMPTY) {
+            togglePiece(opponent, captured, to);
+        }
+        togglePiece(side, piece, from);
+        togglePiece(side, PackedMove.isPromotion(move) ? PackedMove.promotion(move) : piece, to);
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            togglePiece(side, ROOK, from + 3);
+            togglePiece(side, ROOK, from + 1);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            togglePiece(side, ROOK, from - 4);
+            togglePiece(side, ROOK, from - 1);
         }
-        return legals;
+        this.castlingRights &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+        this.enPassantSquare = flag == PackedMove.PAWN_JUMP ? from + pawnDirection(side) : -1;
+        this.sideToMove = opponent;
+        this.ply++;
+        if (isAttacked(getKingSquare(side), opponent)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
     }
 
-    private long calculateWhitePieces() {
-        return this.whitePawns | this.whiteKnights | this.whiteBishops | this.whiteRooks | this.whiteQueen | this.whiteKing;
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.undoMove[this.ply];
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int piece = PackedMove.piece(move);
+        final int captured = PackedMove.captured(move);
+        final int flag = PackedMove.flag(move);
+        final int side = this.sideToMove ^ 1;
+        this.sideToMove = side;
+        togglePiece(side, PackedMove.isPromotion(move) ? PackedMove.promotion(move) : piece, to);
+        togglePiece(side, piece, from);
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            togglePiece(side, ROOK, from + 1);
+            togglePiece(side, ROOK, from + 3);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            togglePiece(side, ROOK, from - 1);
+            togglePiece(side, ROOK, from - 4);
+        }
+        if (flag == PackedMove.EN_PASSANT) {
+            togglePiece(side ^ 1, PAWN, to - pawnDirection(side));
+        } else if (captured != EMPTY) {
+            togglePiece(side ^ 1, captured, to);
+        }
+        this.castlingRights = this.undoCastlingRights[this.ply];
+        this.enPassantSquare = this.undoEnPassantSquare[this.ply];
     }
 
-    private long calculateBlackPieces() {
-        return this.blackPawns | this.blackKnights | this.blackBishops | this.blackRooks | this.blackQueen | this.blackKing;
+    public static String squareToString(final int square) {
+        return String.valueOf((char) ('a' + square % 8)) + (8 - square / 8);
     }
 
     @Override
     public String toString() {
-        return toBinaryString("BLACK KING", this.blackKing) +
-               toBinaryString("BLACK QUEEN", this.blackQueen) +
-               toBinaryString("BLACK ROOKS", this.blackRooks) +
-               toBinaryString("BLACK BISHOPS", this.blackBishops) +
-               toBinaryString("BLACK KNIGHTS", this.blackKnights) +
-               toBinaryString("BLACK PAWNS", this.blackPawns) +
-               toBinaryString("WHITE KING", this.whiteKing) +
-               toBinaryString("WHITE QUEEN", this.whiteQueen) +
-               toBinaryString("WHITE ROOKS", this.whiteRooks) +
-               toBinaryString("WHITE BISHOPS", this.whiteBishops) +
-               toBinaryString("WHITE KNIGHTS", this.whiteKnights) +
-               toBinaryString("WHITE PAWNS", this.whitePawns);
-    }
-
-    private static String toBinaryString(final String title,
-                                         final long bits) {
-        final String s = String.format("%64s", Long.toBinaryString(bits)).replace(' ', '0');
-        final StringBuilder builder = new StringBuilder(title + "\n");
-        int i = 1;
-        for(final char c : s.toCharArray()) {
-            builder.append(c);
-            if(i % 8 == 0) {
+        final StringBuilder builder = new StringBuilder();
+        for (int square = 0; square < 64; square++) {
+            final int type = this.squares[square];
+            final char letter = PIECE_LETTERS.charAt(type);
+            builder.append(String.format("%3s", type != EMPTY && getPieceSide(square) == BLACK ? Character.toLowerCase(letter) : letter));
+            if ((square + 1) % 8 == 0) {
                 builder.append("\n");
             }
-            i++;
-        }
-        return builder.toString() + "\n";
-    }
-
-    private static byte[] findBitPositions(long lTest)
-    {
-        final byte[] result = new byte[Long.bitCount(lTest)];
-        byte iBit = 0;
-        int iDelta, index;
-        index = 0;
-        while (lTest != 0L) {
-            iDelta = Long.numberOfTrailingZeros(lTest);
-            iBit += iDelta;
-            result[index] = iBit;
-            iBit++; // skip the 1 bit we just reported
-            iDelta++; // shift off the 1 bit we just reported
-            index++;
-            lTest >>= iDelta;
-        }
-        return result;
-    }
-
-    private static byte[] bitPositions(long n) {
-        final byte[] result = new byte[Long.bitCount(n)];
-        int i = 0;
-        for (byte bit = 0; n != 0L; bit++) {
-            if ((n & 1L) != 0) result[i++] = bit;
-            n >>>= 1;
-        }
-        return result;
-    }
-
-    @SuppressWarnings("NumericOverflow")
-    private static List<Long> calculateKnightLookupTable() {
-
-        final long[] knightLookupTable = new long[64];
-
-        knightLookupTable[0] = 1L << 10L | 1L << 17L;
-        knightLookupTable[1] = 1L << 11L | 1L << 16L | 1L << 18L;
-        knightLookupTable[2] = 1L << 8L | 1L << 12L | 1L << 17L | 1L << 19L;
-        knightLookupTable[3] = 1L << 9L | 1L << 13L | 1L << 18L | 1L << 20L;
-        knightLookupTable[4] = 1L << 10L | 1L << 14L | 1L << 19L | 1L << 21L;
-        knightLookupTable[5] = 1L << 11L | 1L << 15L | 1L << 20L | 1L << 22L;
-        knightLookupTable[6] = 1L << 12L | 1L << 21L | 1L << 23L;
-        knightLookupTable[7] = 1L << 13L | 1L << 22L;
-
-        knightLookupTable[8] = 1L << 2L | 1L << 18L | 1L << 25L;
-        knightLookupTable[9] = 1L << 3L | 1L << 19L | 1L << 24L | 1L << 26L;
-        knightLookupTable[10] = 1L | 1L << 4L | 1L << 16L | 1L << 20L | 1L << 25L | 1L << 27L;
-        knightLookupTable[11] = 1L << 1L | 1L << 5L | 1L << 17L | 1L << 21L | 1L << 26L | 1L << 28L;
-        knightLookupTable[12] = 1L << 2L | 1L << 6L | 1L << 18L | 1L << 22L | 1L << 27L | 1L << 29L;
-        knightLookupTable[13] = 1L << 3L | 1L << 7L | 1L << 19L | 1L << 23L | 1L << 28L | 1L << 30L;
-        knightLookupTable[14] = 1L << 4L | 1L << 20L | 1L << 29L | 1L << 31L;
-        knightLookupTable[15] = 1L << 5L | 1L << 21L | 1L << 30L;
-
-        knightLookupTable[16] = 1L << 1L | 1L << 10L | 1L << 26L | 1L << 33L;
-        knightLookupTable[17] = 1L | 1L << 2L | 1L << 11L | 1L << 27L | 1L << 32L | 1L << 34L;
-        knightLookupTable[18] = 1L << 1L | 1L << 3L | 1L << 8L | 1L << 12L | 1L << 24L | 1L << 28L | 1L << 33L | 1L << 35L;
-        knightLookupTable[19] = 1L << 2L | 1L << 4L | 1L << 9L | 1L << 13L | 1L << 25L | 1L << 29L | 1L << 34L | 1L << 36L;
-        knightLookupTable[20] = 1L << 3L | 1L << 5L | 1L << 10L | 1L << 14L | 1L << 26L | 1L << 30L | 1L << 35L | 1L << 37L;
-        knightLookupTable[21] = 1L << 4L | 1L << 6L | 1L << 11L | 1L << 15L | 1L << 27L | 1L << 31L | 1L << 36L | 1L << 38L;
-        knightLookupTable[22] = 1L << 5L | 1L << 7L | 1L << 12L | 1L << 28L | 1L << 37L | 1L << 39L;
-        knightLookupTable[23] = 1L << 6L | 1L << 13L | 1L << 29L | 1L << 38L;
-
-        knightLookupTable[24] = 1L << 9L | 1L << 18L | 1L << 34L | 1L << 41L;
-        knightLookupTable[25] = 1L << 8L | 1L << 10L | 1L << 19L | 1L << 35L | 1L << 40L | 1L << 42L;
-        knightLookupTable[26] = 1L << 9L | 1L << 11L | 1L << 16L | 1L << 20L | 1L << 32L | 1L << 36 | 1L << 41L | 1L << 43L;
-        knightLookupTable[27] = 1L << 10L | 1L << 12L | 1L << 17L | 1L << 21L | 1L << 33L | 1L << 37L | 1L << 42L | 1L << 44L;
-        knightLookupTable[28] = 1L << 11L | 1L << 13L | 1L << 18L | 1L << 22L | 1L << 34L | 1L << 38L | 1L << 43L | 1L << 45L;
-        knightLookupTable[29] = 1L << 12L | 1L << 14L | 1L << 19L | 1L << 23L | 1L << 35L | 1L << 39L | 1L << 44L | 1L << 46L;
-        knightLookupTable[30] = 1L << 13L | 1L << 15L | 1L << 20L | 1L << 36L | 1L << 45L | 1L << 47L;
-        knightLookupTable[31] = 1L << 14L | 1L << 21L | 1L << 37L | 1L << 46L;
-
-        knightLookupTable[32] = 1L << 17L | 1L << 26L | 1L << 42L | 1L << 49L;
-        knightLookupTable[33] = 1L << 16L | 1L << 18L | 1L << 27L | 1L << 43L | 1L << 48L | 1L << 50L;
-        knightLookupTable[34] = 1L << 17L | 1L << 19L | 1L << 24L | 1L << 28L | 1L << 40L | 1L << 44L | 1L << 49L | 1L << 51L;
-        knightLookupTable[35] = 1L << 18L | 1L << 20L | 1L << 25L | 1L << 29L | 1L << 41L | 1L << 45L | 1L << 50L | 1L << 52L;
-        knightLookupTable[36] = 1L << 19L | 1L << 21L | 1L << 26L | 1L << 30L | 1L << 42L | 1L << 46L | 1L << 51L | 1L << 53L;
-        knightLookupTable[37] = 1L << 20L | 1L << 22L | 1L << 27L | 1L << 31L | 1L << 43L | 1L << 47L | 1L << 52L | 1L << 54L;
-        knightLookupTable[38] = 1L << 21L | 1L << 23L | 1L << 28L | 1L << 44L | 1L << 53L | 1L << 55L;
-        knightLookupTable[39] = 1L << 22L | 1L << 29L | 1L << 45L | 1L << 54L;
-
-        knightLookupTable[40] = 1L << 25L | 1L << 34L | 1L << 50L | 1L << 57L;
-        knightLookupTable[41] = 1L << 24L | 1L << 26L | 1L << 35L | 1L << 51L | 1L << 56L | 1L << 58L;
-        knightLookupTable[42] = 1L << 25L | 1L << 27L | 1L << 32L | 1L << 36L | 1L << 48L | 1L << 52L | 1L << 57L | 1L << 59L;
-        knightLookupTable[43] = 1L << 26L | 1L << 28L | 1L << 33L | 1L << 37L | 1L << 49L | 1L << 53L | 1L << 58L | 1L << 60L;
-        knightLookupTable[44] = 1L << 27L | 1L << 29L | 1L << 34L | 1L << 38L | 1L << 50L | 1L << 54L | 1L << 59L | 1L << 61L;
-        knightLookupTable[45] = 1L << 28L | 1L << 30L | 1L << 35L | 1L << 39L | 1L << 51L | 1L << 55L | 1L << 60L | 1L << 62L;
-        knightLookupTable[46] = 1L << 29L | 1L << 31L | 1L << 36L | 1L << 52L | 1L << 61L | 1L << 63L;
-        knightLookupTable[47] = 1L << 30L | 1L << 37L | 1L << 53L | 1L << 62L;
-
-        knightLookupTable[48] = 1L << 33L | 1L << 42L | 1L << 58L;
-        knightLookupTable[49] = 1L << 32L | 1L << 34L | 1L << 43L | 1L << 59L;
-        knightLookupTable[50] = 1L << 33L | 1L << 35L | 1L << 40L | 1L << 44L | 1L << 56L | 1L << 60L;
-        knightLookupTable[51] = 1L << 34L | 1L << 36L | 1L << 41L | 1L << 45L | 1L << 57L | 1L << 61L;
-        knightLookupTable[52] = 1L << 35L | 1L << 37L | 1L << 42L | 1L << 46L | 1L << 58L | 1L << 62L;
-        knightLookupTable[53] = 1L << 36L | 1L << 38L | 1L << 43L | 1L << 47L | 1L << 59L | 1L << 63L;
-        knightLookupTable[54] = 1L << 37L | 1L << 39L | 1L << 44L | 1L << 60L;
-        knightLookupTable[55] = 1L << 38L | 1L << 45L | 1L << 61L;
-
-        knightLookupTable[56] = 1L << 41L | 1L << 51L;
-        knightLookupTable[57] = 1L << 40L | 1L << 42L | 1L << 52L;
-        knightLookupTable[58] = 1L << 41L | 1L << 43L | 1L << 53L;
-        knightLookupTable[59] = 1L << 42L | 1L << 44L | 1L << 47L | 1L << 54L;
-        knightLookupTable[60] = 1L << 43L | 1L << 45L | 1L << 49L | 1L << 55L;
-        knightLookupTable[61] = 1L << 44L | 1L << 46L | 1L << 50L | 1L << 55L;
-        knightLookupTable[62] = 1L << 45L | 1L << 47L | 1L << 51L;
-        knightLookupTable[63] = 1L << 46L | 1L << 53L;
-
-        return ImmutableList.copyOf(Longs.asList(knightLookupTable));
-    }
-
-    public static void main(String[] args) {
-        BitBoardV2 v2 = standardBoard().calculateLegalMoves();
-        System.out.println(v2);
-    }
-}
\ No newline at end of file
+        }
+        return builder.toString();
+    }
+
+    private int generatePawnMoves(final int side,
+                                  final int[] moves,
+                                  int count) {
+        final long pawns = this.pieces[side][PAWN];
+        final long empty = ~this.allPieces;
+        final int direction = pawnDirection(side);
+        final long pushes = side == WHITE ? BitBoardUtils.north(pawns) & empty : BitBoardUtils.south(pawns) & empty;
+        final long jumps = side == WHITE ? BitBoardUtils.north(pushes & BitBoardUtils.RANK_3) & empty :
+                                           BitBoardUtils.south(pushes & BitBoardUtils.RANK_6) & empty;
+        for (long targets = pushes; targets != 0; targets &= targets - 1) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            count = addPawnMove(to - direction, to, EMPTY, moves, count);
+        }
+        for (long targets = jumps; targets != 0; targets &= targets - 1) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            moves[count++] = PackedMove.encode(to - 2 * direction, to, PAWN, EMPTY, EMPTY, PackedMove.PAWN_JUMP);
+        }
+        return generatePawnAttacks(side, moves, count);
+    }
+
+    //captures, en passant and pushes that promote
+    private int generatePawnCaptures(final int side,
+                                     final int[] moves,
+                                     int count) {
+        final long pawns = this.pieces[side][PAWN];
+        final long promotions = side == WHITE ? BitBoardUtils.north(pawns) & ~this.allPieces & BitBoardUtils.RANK_8 :
+                                                BitBoardUtils.south(pawns) & ~this.allPieces & BitBoardUtils.RANK_1;
+        for (long targets = promotions; targets != 0; targets &= targets - 1) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            count = addPawnMove(to - pawnDirection(side), to, EMPTY, moves, count);
+        }
+        return generatePawnAttacks(side, moves, count);
+    }
+
+    private int generatePawnAttacks(final int side,
+                                    final int[] moves,
+                                    int count) {
+        final long pawns = this.pieces[side][PAWN];
+        final long enemies = this.sidePieces[side ^ 1];
+        for (long attackers = pawns; attackers != 0; attackers &= attackers - 1) {
+            final int from = Long.numberOfTrailingZeros(attackers);
+            for (long targets = PAWN_ATTACKS[side][from] & enemies; targets != 0; targets &= targets - 1) {
+                final int to = Long.numberOfTrailingZeros(targets);
+                count = addPawnMove(from, to, this.squares[to], moves, count);
+            }
+        }
+        if (this.enPassantSquare != -1) {
+            //the pawns that could capture on the en passant square are the ones an enemy pawn there would attack
+            for (long attackers = PAWN_ATTACKS[side ^ 1][this.enPassantSquare] & pawns; attackers != 0; attackers &= attackers - 1) {
+                moves[count++] = PackedMove.encode(Long.numberOfTrailingZeros(attackers), this.enPassantSquare, PAWN, PAWN,
+                                                   EMPTY, PackedMove.EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    private static int addPawnMove(final int from,
+                                   final int to,
+                                   final int captured,
+                                   final int[] moves,
+                                   int count) {
+        if (((1L << to) & (BitBoardUtils.RANK_8 | BitBoardUtils.RANK_1)) != 0) {
+            for (final int promotionType : PROMOTION_TYPES) {
+                moves[count++] = PackedMove.encode(from, to, PAWN, captured, promotionType, PackedMove.NORMAL);
+            }
+        } else {
+            moves[count++] = PackedMove.encode(from, to, PAWN, captured, EMPTY, PackedMove.NORMAL);
+        }
+        return count;
+    }
+
+    private int addMoves(final int from,
+                         final int piece,
+                         final long targets,
+                         final int[] moves,
+                         int count) {
+        for (long remaining = targets; remaining != 0; remaining &= remaining - 1) {
+            final int to = Long.numberOfTrailingZeros(remaining);
+            moves[count++] = PackedMove.encode(from, to, piece, this.squares[to], EMPTY, PackedMove.NORMAL);
+        }
+        return count;
+    }
+
+    private int generateCastleMoves(final int side,
+                                    final int kingSquare,
+                                    final int[] moves,
+                                    int count) {
+        final int kingSide = side == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = side == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isAttacked(kingSquare, side ^ 1)) {
+            return count;
+        }
+        final long kingSidePath = side == WHITE ? WHITE_KING_SIDE_PATH : BLACK_KING_SIDE_PATH;
+        final long queenSidePath = side == WHITE ? WHITE_QUEEN_SIDE_PATH : BLACK_QUEEN_SIDE_PATH;
+        if ((this.castlingRights & kingSide) != 0 && (this.allPieces & kingSidePath) == 0 &&
+            !isAttacked(kingSquare + 1, side ^ 1) && !isAttacked(kingSquare + 2, side ^ 1)) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare + 2, KING, EMPTY, EMPTY, PackedMove.KING_SIDE_CASTLE);
+        }
+        if ((this.castlingRights & queenSide) != 0 && (this.allPieces & queenSidePath) == 0 &&
+            !isAttacked(kingSquare - 1, side ^ 1) && !isAttacked(kingSquare - 2, side ^ 1)) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare - 2, KING, EMPTY, EMPTY, PackedMove.QUEEN_SIDE_CASTLE);
+        }
+        return count;
+    }
+
+    private void addPieces(final int side,
+                           final int type,
+                           final long squares) {
+        for (long remaining = squares; remaining != 0; remaining &= remaining - 1) {
+            addPiece(side, type, Long.numberOfTrailingZeros(remaining));
+        }
+    }
+
+    private void addPiece(final int side,
+                          final int type,
+                          final int square) {
+        if (this.squares[square] != EMPTY) {
+            throw new RuntimeException("tile " + squareToString(square) + " is already occupied");
+        }
+        togglePiece(side, type, square);
+    }
+
+    //a piece is placed and lifted by the same xor, the mailbox follows the bitboards
+    private void togglePiece(final int side,
+                             final int type,
+                             final int square) {
+        final long bit = 1L << square;
+        this.pieces[side][type] ^= bit;
+        this.sidePieces[side] ^= bit;
+        this.allPieces ^= bit;
+        final boolean isPlaced = (this.allPieces & bit) != 0;
+        final int score = PieceSquareTables.score(side, type - 1, square);
+        this.squares[square] = isPlaced ? type : EMPTY;
+        this.pieceSquareScore += isPlaced ? score : -score;
+    }
+
+    private Piece createClassicPiece(final int square) {
+        final int side = getPieceSide(square);
+        final Alliance alliance = side == WHITE ? Alliance.WHITE : Alliance.BLACK;
+        final int kingSide = side == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = side == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        switch (this.squares[square]) {
+            case PAWN:
+                final long startRank = side == WHITE ? BitBoardUtils.RANK_2 : BitBoardUtils.RANK_7;
+                return new Pawn(alliance, square, BitBoardUtils.isSet(startRank, square));
+            case KNIGHT:
+                return new Knight(alliance, square);
+            case BISHOP:
+                return new Bishop(alliance, square);
+            case ROOK:
+                final int homeSquare = side == WHITE ? 60 : 4;
+                final int right = square == homeSquare + 3 ? kingSide : square == homeSquare - 4 ? queenSide : 0;
+                return new Rook(alliance, square, (this.castlingRights & right) != 0);
+            case QUEEN:
+                return new Queen(alliance, square);
+            case KING:
+                return new King(alliance, square, (this.castlingRights & (kingSide | queenSide)) != 0, false,
+                        (this.castlingRights & kingSide) != 0, (this.castlingRights & queenSide) != 0);
+            default:
+                throw new RuntimeException("no piece on " + squareToString(square));
+        }
+    }
+
+    private static int castlingRights(final Board board,
+                                      final int side) {
+        final int homeSquare = side == WHITE ? 60 : 4;
+        final Piece piece = board.getPiece(homeSquare);
+        if (piece == null || piece.getPieceType() != Piece.PieceType.KING || sideOf(piece.getPieceAllegiance()) != side ||
+            !piece.isFirstMove() || ((King) piece).isCastled()) {
+            return 0;
+        }
+        final King king = (King) piece;
+        int rights = 0;
+        if (king.isKingSideCastleCapable() && isUnmovedRook(board, homeSquare + 3, side)) {
+            rights |= side == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        }
+        if (king.isQueenSideCastleCapable() && isUnmovedRook(board, homeSquare - 4, side)) {
+            rights |= side == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    private static boolean isUnmovedRook(final Board board,
+                                         final int square,
+                                         final int side) {
+        final Piece piece = board.getPiece(square);
+        return piece != null && piece.getPieceType() == Piece.PieceType.ROOK &&
+               sideOf(piece.getPieceAllegiance()) == side && piece.isFirstMove();
+    }
+
+    private static int sideOf(final Alliance alliance) {
+        return alliance.isWhite() ? WHITE : BLACK;
+    }
+
+    private static int pawnDirection(final int side) {
+        return side == WHITE ? -8 : 8;
+    }
+
+    private static int parseSquare(final String text) {
+        if (text.length() != 2) {
+            throw new RuntimeException("Invalid square " + text);
+        }
+        final int file = text.charAt(0) - 'a';
+        final int rank = text.charAt(1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new RuntimeException("Invalid square " + text);
+        }
+        return (7 - rank) * 8 + file;
+    }
+
+    private static long[] initStepAttacks(final int[][] steps) {
+        final long[] attacks = new long[64];
+        for (int square = 0; square < 64; square++) {
+            for (final int[] step : steps) {
+                final int row = square / 8 + step[0];
+                final int column = square % 8 + step[1];
+                if (row >= 0 && row < 8 && column >= 0 && column < 8) {
+                    attacks[square] |= 1L << (row * 8 + column);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    //moving from or to one of these tiles takes away the castling rights that depend on the piece standing there
+    private static int[] initCastlingMasks() {
+        final int[] masks = new int[64];
+        java.util.Arrays.fill(masks, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[0] &= ~BLACK_QUEEN_SIDE;
+        masks[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[7] &= ~BLACK_KING_SIDE;
+        masks[56] &= ~WHITE_QUEEN_SIDE;
+        masks[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        masks[63] &= ~WHITE_KING_SIDE;
+        return masks;
+    }
+
+}
@@ -31,7 +31,7 @@ public enum Alliance {
 
         @Override
         public boolean isPawnPromotionSquare(final int position) {
-            return BoardUtils.INSTANCE.FIRST_ROW.get(position);
+            return position >= BoardUtils.START_TILE_INDEX && position < BoardUtils.NUM_TILES_PER_ROW;
         }
 
         @Override
@@ -100,7 +100,7 @@ public enum Alliance {
 
         @Override
         public boolean isPawnPromotionSquare(final int position) {
-            return BoardUtils.INSTANCE.EIGHTH_ROW.get(position);
+            return position >= BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW && position < BoardUtils.NUM_TILES;
         }
 
         @Override
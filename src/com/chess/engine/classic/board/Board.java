@@ -7,16 +7,16 @@ import com.chess.engine.classic.player.BlackPlayer;
 import com.chess.engine.classic.player.Player;
 import com.chess.engine.classic.player.WhitePlayer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class Board {
 
-    private final Map<Integer, Piece> boardConfig;
+    private final Piece[] boardConfig;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
     private final WhitePlayer whitePlayer;
@@ -24,27 +24,29 @@ public final class Board {
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
     private final Move transitionMove;
+    private final long zobristKey;
+    private final int pieceSquareScore;
 
     private static final Board STANDARD_BOARD = createStandardBoardImpl();
 
     private Board(final Builder builder) {
-        this.boardConfig = Collections.unmodifiableMap(builder.boardConfig);
-        this.whitePieces = calculateActivePieces(builder, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(builder, Alliance.BLACK);
+        this.boardConfig = builder.boardConfig.clone();
+        this.whitePieces = calculateActivePieces(this.boardConfig, Alliance.WHITE);
+        this.blackPieces = calculateActivePieces(this.boardConfig, Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardMoves, blackStandardMoves);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateKey(this);
+        this.pieceSquareScore = builder.hasPieceSquareScore ? builder.pieceSquareScore : PieceSquareTables.calculateScore(this);
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = prettyPrint(this.boardConfig.get(i));
+            final String tileText = prettyPrint(this.boardConfig[i]);
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % 8 == 0) {
                 builder.append("\n");
@@ -70,8 +72,10 @@ public final class Board {
     }
 
     public Collection<Piece> getAllPieces() {
-        return Stream.concat(this.whitePieces.stream(),
-                             this.blackPieces.stream()).collect(Collectors.toList());
+        final List<Piece> allPieces = new ArrayList<>(this.whitePieces.size() + this.blackPieces.size());
+        allPieces.addAll(this.whitePieces);
+        allPieces.addAll(this.blackPieces);
+        return allPieces;
     }
 
     public Collection<Move> getAllLegalMoves() {
@@ -92,7 +96,7 @@ public final class Board {
     }
 
     public Piece getPiece(final int coordinate) {
-        return this.boardConfig.get(coordinate);
+        return this.boardConfig[coordinate];
     }
 
     public Pawn getEnPassantPawn() {
@@ -103,6 +107,15 @@ public final class Board {
         return this.transitionMove;
     }
 
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    //material plus location bonus, white minus black
+    public int getPieceSquareScore() {
+        return this.pieceSquareScore;
+    }
+
     public static Board createStandardBoard() {
         return STANDARD_BOARD;
     }
@@ -149,31 +162,34 @@ public final class Board {
         return builder.build();
     }
 
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        return pieces.stream().flatMap(piece -> piece.calculateLegalMoves(this).stream())
-                      .collect(Collectors.toList());
-    }
-
-    private static Collection<Piece> calculateActivePieces(final Builder builder,
+    private static Collection<Piece> calculateActivePieces(final Piece[] boardConfig,
                                                            final Alliance alliance) {
-        return builder.boardConfig.values().stream()
-               .filter(piece -> piece.getPieceAllegiance() == alliance)
-               .collect(Collectors.toList());
+        final List<Piece> activePieces = new ArrayList<>(16);
+        for (final Piece piece : boardConfig) {
+            if (piece != null && piece.getPieceAllegiance() == alliance) {
+                activePieces.add(piece);
+            }
+        }
+        return Collections.unmodifiableList(activePieces);
     }
 
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        long zobristKey;
+        boolean hasZobristKey;
+        int pieceSquareScore;
+        boolean hasPieceSquareScore;
 
         public Builder() {
-            this.boardConfig = new HashMap<>(32, 1.0f);
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
             return this;
         }
 
@@ -192,6 +208,20 @@ public final class Board {
             return this;
         }
 
+        //set by Move.execute from the parent key, boards built any other way hash from scratch
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
+            return this;
+        }
+
+        //like the key, carried over from the parent board by the move that built this one
+        Builder setPieceSquareScore(final int pieceSquareScore) {
+            this.pieceSquareScore = pieceSquareScore;
+            this.hasPieceSquareScore = true;
+            return this;
+        }
+
         public Board build() {
             return new Board(this);
         }
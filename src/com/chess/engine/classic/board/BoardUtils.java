@@ -1,5 +1,6 @@
 package com.chess.engine.classic.board;
 
+import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.pieces.King;
 import com.chess.engine.classic.pieces.Piece;
 
@@ -29,9 +30,16 @@ public enum  BoardUtils {
     public final List<Boolean> EIGHTH_ROW = initRow(56);
     public final List<String> ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     public final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
+    private static final int[][] KNIGHT_DELTAS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_DELTAS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] ORTHOGONAL_DELTAS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] DIAGONAL_DELTAS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
     public static final int START_TILE_INDEX = 0;
     public static final int NUM_TILES_PER_ROW = 8;
     public static final int NUM_TILES = 64;
+    //the swap list of see, one per thread so the searches running in parallel don't share it. an exchange on one tile
+    //can't run longer than the 32 pieces on the board
+    private static final ThreadLocal<int[]> SEE_GAINS = ThreadLocal.withInitial(() -> new int[32]);
 
     private static List<Boolean> initColumn(int columnNumber) {
         final Boolean[] column = new Boolean[NUM_TILES];
@@ -81,6 +89,44 @@ public enum  BoardUtils {
         return coordinate >= START_TILE_INDEX && coordinate < NUM_TILES;
     }
 
+    //for every tile the tiles one step of each {row, column} delta away, in delta order, the steps leaving the board dropped
+    public static int[][] initStepTargets(final int[][] deltas) {
+        final int[][] targets = new int[NUM_TILES][];
+        for (int tile = START_TILE_INDEX; tile < NUM_TILES; tile++) {
+            final int[] buffer = new int[deltas.length];
+            int count = 0;
+            for (final int[] delta : deltas) {
+                final int row = tile / NUM_TILES_PER_ROW + delta[0];
+                final int column = tile % NUM_TILES_PER_ROW + delta[1];
+                if (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW) {
+                    buffer[count++] = row * NUM_TILES_PER_ROW + column;
+                }
+            }
+            targets[tile] = Arrays.copyOf(buffer, count);
+        }
+        return targets;
+    }
+
+    //for every tile one ray per {row, column} delta, each listing the tiles out to the edge nearest first
+    public static int[][][] initRays(final int[][] deltas) {
+        final int[][][] rays = new int[NUM_TILES][deltas.length][];
+        for (int tile = START_TILE_INDEX; tile < NUM_TILES; tile++) {
+            for (int direction = 0; direction < deltas.length; direction++) {
+                final int[] buffer = new int[NUM_TILES_PER_ROW];
+                int count = 0;
+                int row = tile / NUM_TILES_PER_ROW + deltas[direction][0];
+                int column = tile % NUM_TILES_PER_ROW + deltas[direction][1];
+                while (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW) {
+                    buffer[count++] = row * NUM_TILES_PER_ROW + column;
+                    row += deltas[direction][0];
+                    column += deltas[direction][1];
+                }
+                rays[tile][direction] = Arrays.copyOf(buffer, count);
+            }
+        }
+        return rays;
+    }
+
     public int getCoordinateAtPosition(final String position) {
         return POSITION_TO_COORDINATE.get(position);
     }
@@ -99,6 +145,99 @@ public enum  BoardUtils {
         return transition.getToBoard().currentPlayer().isInCheck();
     }
 
+    public static boolean isTileAttacked(final Board board,
+                                         final int tile,
+                                         final Alliance attacker) {
+        return isTileAttacked(board, tile, attacker, -1, -1, -1);
+    }
+
+    //answers the question for the position after a move without building it: the vacated tiles are
+    //treated as empty and the occupied tile as a friendly blocker, so a piece captured there cannot attack
+    public static boolean isTileAttacked(final Board board,
+                                         final int tile,
+                                         final Alliance attacker,
+                                         final int vacatedTile,
+                                         final int secondVacatedTile,
+                                         final int occupiedTile) {
+        final int row = tile / NUM_TILES_PER_ROW;
+        final int column = tile % NUM_TILES_PER_ROW;
+        final int pawnRow = row - attacker.getDirection();
+        if (isAttackerAt(board, pawnRow, column - 1, attacker, Piece.PieceType.PAWN, vacatedTile, secondVacatedTile, occupiedTile) ||
+            isAttackerAt(board, pawnRow, column + 1, attacker, Piece.PieceType.PAWN, vacatedTile, secondVacatedTile, occupiedTile)) {
+            return true;
+        }
+        for (final int[] delta : KNIGHT_DELTAS) {
+            if (isAttackerAt(board, row + delta[0], column + delta[1], attacker, Piece.PieceType.KNIGHT, vacatedTile, secondVacatedTile, occupiedTile)) {
+                return true;
+            }
+        }
+        for (final int[] delta : KING_DELTAS) {
+            if (isAttackerAt(board, row + delta[0], column + delta[1], attacker, Piece.PieceType.KING, vacatedTile, secondVacatedTile, occupiedTile)) {
+                return true;
+            }
+        }
+        return isSliderAttack(board, row, column, ORTHOGONAL_DELTAS, Piece.PieceType.ROOK, attacker, vacatedTile, secondVacatedTile, occupiedTile) ||
+               isSliderAttack(board, row, column, DIAGONAL_DELTAS, Piece.PieceType.BISHOP, attacker, vacatedTile, secondVacatedTile, occupiedTile);
+    }
+
+    public static boolean isSameLine(final int firstTile,
+                                     final int secondTile) {
+        final int rowDistance = firstTile / NUM_TILES_PER_ROW - secondTile / NUM_TILES_PER_ROW;
+        final int columnDistance = firstTile % NUM_TILES_PER_ROW - secondTile % NUM_TILES_PER_ROW;
+        return rowDistance == 0 || columnDistance == 0 || Math.abs(rowDistance) == Math.abs(columnDistance);
+    }
+
+    private static boolean isAttackerAt(final Board board,
+                                        final int row,
+                                        final int column,
+                                        final Alliance attacker,
+                                        final Piece.PieceType pieceType,
+                                        final int vacatedTile,
+                                        final int secondVacatedTile,
+                                        final int occupiedTile) {
+        if (row < 0 || row >= NUM_TILES_PER_ROW || column < 0 || column >= NUM_TILES_PER_ROW) {
+            return false;
+        }
+        final int tile = row * NUM_TILES_PER_ROW + column;
+        if (tile == vacatedTile || tile == secondVacatedTile || tile == occupiedTile) {
+            return false;
+        }
+        final Piece piece = board.getPiece(tile);
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceAllegiance() == attacker;
+    }
+
+    private static boolean isSliderAttack(final Board board,
+                                          final int row,
+                                          final int column,
+                                          final int[][] deltas,
+                                          final Piece.PieceType sliderType,
+                                          final Alliance attacker,
+                                          final int vacatedTile,
+                                          final int secondVacatedTile,
+                                          final int occupiedTile) {
+        for (final int[] delta : deltas) {
+            int currentRow = row + delta[0];
+            int currentColumn = column + delta[1];
+            while (currentRow >= 0 && currentRow < NUM_TILES_PER_ROW && currentColumn >= 0 && currentColumn < NUM_TILES_PER_ROW) {
+                final int tile = currentRow * NUM_TILES_PER_ROW + currentColumn;
+                if (tile == occupiedTile) {
+                    break;
+                }
+                final Piece piece = tile == vacatedTile || tile == secondVacatedTile ? null : board.getPiece(tile);
+                if (piece != null) {
+                    if (piece.getPieceAllegiance() == attacker &&
+                       (piece.getPieceType() == sliderType || piece.getPieceType() == Piece.PieceType.QUEEN)) {
+                        return true;
+                    }
+                    break;
+                }
+                currentRow += delta[0];
+                currentColumn += delta[1];
+            }
+        }
+        return false;
+    }
+
     public static boolean isKingPawnTrap(final Board board,
                                          final King king,
                                          final int frontTile) {
@@ -117,6 +256,137 @@ public enum  BoardUtils {
         return Piece.PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
     }
 
+    //static exchange evaluation: the material the side making the move comes out with after both sides keep
+    //recapturing on the destination with their cheapest piece and either may stop when going on would lose.
+    //sliders lined up behind a piece that has captured join in as soon as it is gone
+    public static int see(final Move move) {
+        final Board board = move.getBoard();
+        final int tile = move.getDestinationCoordinate();
+        final int[] gain = SEE_GAINS.get();
+        long removed = 1L << move.getCurrentCoordinate();
+        int attackerValue = move.getMovedPiece().getPieceValue();
+        gain[0] = move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0;
+        if (move.isAttack() && move.getAttackedPiece().getPiecePosition() != tile) {
+            //en passant, the captured pawn is not on the destination
+            removed |= 1L << move.getAttackedPiece().getPiecePosition();
+        }
+        if (move instanceof Move.PawnPromotion) {
+            final int promotionValue = ((Move.PawnPromotion) move).getPromotionPiece().getPieceValue();
+            gain[0] += promotionValue - attackerValue;
+            attackerValue = promotionValue;
+        }
+        Alliance side = move.getMovedPiece().getPieceAllegiance();
+        int depth = 0;
+        while (depth < gain.length - 1) {
+            depth++;
+            gain[depth] = attackerValue - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break;
+            }
+            side = side.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            final int attackerTile = leastValuableAttacker(board, tile, side, removed);
+            if (attackerTile < 0) {
+                break;
+            }
+            attackerValue = board.getPiece(attackerTile).getPieceValue();
+            removed |= 1L << attackerTile;
+        }
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    //the tile of the cheapest piece of the attacker that hits the given tile, ignoring pieces in removed, or -1
+    private static int leastValuableAttacker(final Board board,
+                                             final int tile,
+                                             final Alliance attacker,
+                                             final long removed) {
+        final int row = tile / NUM_TILES_PER_ROW;
+        final int column = tile % NUM_TILES_PER_ROW;
+        int bestTile = -1;
+        int bestValue = Integer.MAX_VALUE;
+        final int pawnRow = row - attacker.getDirection();
+        final int leftPawn = pieceTileAt(board, pawnRow, column - 1, attacker, removed);
+        if (leftPawn >= 0 && board.getPiece(leftPawn).getPieceType() == Piece.PieceType.PAWN) {
+            return leftPawn;
+        }
+        final int rightPawn = pieceTileAt(board, pawnRow, column + 1, attacker, removed);
+        if (rightPawn >= 0 && board.getPiece(rightPawn).getPieceType() == Piece.PieceType.PAWN) {
+            return rightPawn;
+        }
+        for (final int[] delta : KNIGHT_DELTAS) {
+            final int candidate = pieceTileAt(board, row + delta[0], column + delta[1], attacker, removed);
+            if (candidate >= 0 && board.getPiece(candidate).getPieceType() == Piece.PieceType.KNIGHT) {
+                return candidate;
+            }
+        }
+        for (final int[] delta : DIAGONAL_DELTAS) {
+            final int candidate = firstPieceOnRay(board, row, column, delta, removed);
+            if (candidate >= 0 && isSliderOf(board.getPiece(candidate), attacker, Piece.PieceType.BISHOP) &&
+                board.getPiece(candidate).getPieceValue() < bestValue) {
+                bestTile = candidate;
+                bestValue = board.getPiece(candidate).getPieceValue();
+            }
+        }
+        for (final int[] delta : ORTHOGONAL_DELTAS) {
+            final int candidate = firstPieceOnRay(board, row, column, delta, removed);
+            if (candidate >= 0 && isSliderOf(board.getPiece(candidate), attacker, Piece.PieceType.ROOK) &&
+                board.getPiece(candidate).getPieceValue() < bestValue) {
+                bestTile = candidate;
+                bestValue = board.getPiece(candidate).getPieceValue();
+            }
+        }
+        if (bestTile >= 0) {
+            return bestTile;
+        }
+        for (final int[] delta : KING_DELTAS) {
+            final int candidate = pieceTileAt(board, row + delta[0], column + delta[1], attacker, removed);
+            if (candidate >= 0 && board.getPiece(candidate).getPieceType() == Piece.PieceType.KING) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private static int pieceTileAt(final Board board,
+                                   final int row,
+                                   final int column,
+                                   final Alliance alliance,
+                                   final long removed) {
+        if (row < 0 || row >= NUM_TILES_PER_ROW || column < 0 || column >= NUM_TILES_PER_ROW) {
+            return -1;
+        }
+        final int tile = row * NUM_TILES_PER_ROW + column;
+        final Piece piece = (removed & (1L << tile)) != 0 ? null : board.getPiece(tile);
+        return piece != null && piece.getPieceAllegiance() == alliance ? tile : -1;
+    }
+
+    private static int firstPieceOnRay(final Board board,
+                                       final int row,
+                                       final int column,
+                                       final int[] delta,
+                                       final long removed) {
+        int currentRow = row + delta[0];
+        int currentColumn = column + delta[1];
+        while (currentRow >= 0 && currentRow < NUM_TILES_PER_ROW && currentColumn >= 0 && currentColumn < NUM_TILES_PER_ROW) {
+            final int tile = currentRow * NUM_TILES_PER_ROW + currentColumn;
+            if ((removed & (1L << tile)) == 0 && board.getPiece(tile) != null) {
+                return tile;
+            }
+            currentRow += delta[0];
+            currentColumn += delta[1];
+        }
+        return -1;
+    }
+
+    private static boolean isSliderOf(final Piece piece,
+                                      final Alliance alliance,
+                                      final Piece.PieceType sliderType) {
+        return piece.getPieceAllegiance() == alliance &&
+              (piece.getPieceType() == sliderType || piece.getPieceType() == Piece.PieceType.QUEEN);
+    }
+
     public static List<Move> lastNMoves(final Board board, int N) {
         final List<Move> moveHistory = new ArrayList<>();
         Move currentMove = board.getTransitionMove();
@@ -133,4 +403,20 @@ public enum  BoardUtils {
         return board.currentPlayer().isInCheckMate() ||
                board.currentPlayer().isInStaleMate();
     }
+
+    //the same position with the other side to move, used to test what passing would be worth. the en passant right
+    //does not survive the pass
+    public static Board passTurn(final Board board) {
+        final Board.Builder builder = new Board.Builder();
+        for (int i = 0; i < NUM_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                builder.setPiece(piece);
+            }
+        }
+        builder.setMoveMaker(board.currentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(board.getZobristKey() ^ Zobrist.sideToMoveKey() ^ Zobrist.enPassantKey(board.getEnPassantPawn()));
+        builder.setPieceSquareScore(board.getPieceSquareScore());
+        return builder.build();
+    }
 }
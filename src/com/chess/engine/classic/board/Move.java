@@ -85,12 +85,38 @@ public abstract class Move {
         final Board.Builder builder = new Builder();
         this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
         this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece movedPiece = this.movedPiece.movePiece(this);
+        builder.setPiece(movedPiece);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         builder.setMoveTransition(this);
+        builder.setZobristKey(calculateZobristKey(movedPiece, null));
+        builder.setPieceSquareScore(calculatePieceSquareScore(movedPiece));
         return builder.build();
     }
 
+    //the moved piece leaves its tile for the new one and a captured piece, en passant included, drops out
+    int calculatePieceSquareScore(final Piece movedPiece) {
+        int score = this.board.getPieceSquareScore() -
+                    PieceSquareTables.pieceScore(this.movedPiece) + PieceSquareTables.pieceScore(movedPiece);
+        if (isAttack()) {
+            score -= PieceSquareTables.pieceScore(getAttackedPiece());
+        }
+        return score;
+    }
+
+    long calculateZobristKey(final Piece movedPiece,
+                             final Pawn enPassantPawn) {
+        long key = this.board.getZobristKey() ^ Zobrist.sideToMoveKey() ^
+                   Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(movedPiece) ^
+                   Zobrist.enPassantKey(this.board.getEnPassantPawn()) ^ Zobrist.enPassantKey(enPassantPawn);
+        if (isAttack()) {
+            key ^= Zobrist.pieceKey(getAttackedPiece());
+        }
+        final int castleRights = Zobrist.castleRights(this.board);
+        return key ^ Zobrist.castleKey(castleRights) ^
+               Zobrist.castleKey(Zobrist.updateCastleRights(castleRights, getCurrentCoordinate(), this.destinationCoordinate));
+    }
+
     public Board undo() {
         final Board.Builder builder = new Builder();
         this.board.getAllPieces().forEach(builder::setPiece);
@@ -148,6 +174,10 @@ public abstract class Move {
             this.promotionPiece = promotionPiece;
         }
 
+        public Piece getPromotionPiece() {
+            return this.promotionPiece;
+        }
+
         @Override
         public int hashCode() {
             return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
@@ -164,9 +194,16 @@ public abstract class Move {
             final Board.Builder builder = new Builder();
             pawnMovedBoard.currentPlayer().getActivePieces().stream().filter(piece -> !this.promotedPawn.equals(piece)).forEach(builder::setPiece);
             pawnMovedBoard.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
-            builder.setPiece(this.promotionPiece.movePiece(this));
+            final Piece promotedPiece = this.promotionPiece.movePiece(this);
+            builder.setPiece(promotedPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^
+                                  Zobrist.pieceKey(pawnMovedBoard.getPiece(this.destinationCoordinate)) ^
+                                  Zobrist.pieceKey(promotedPiece));
+            builder.setPieceSquareScore(pawnMovedBoard.getPieceSquareScore() -
+                                        PieceSquareTables.pieceScore(pawnMovedBoard.getPiece(this.destinationCoordinate)) +
+                                        PieceSquareTables.pieceScore(promotedPiece));
             return builder.build();
         }
 
@@ -297,9 +334,12 @@ public abstract class Move {
             final Board.Builder builder = new Builder();
             this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
             this.board.currentPlayer().getOpponent().getActivePieces().stream().filter(piece -> !piece.equals(this.getAttackedPiece())).forEach(builder::setPiece);
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece movedPiece = this.movedPiece.movePiece(this);
+            builder.setPiece(movedPiece);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedPiece, null));
+            builder.setPieceSquareScore(calculatePieceSquareScore(movedPiece));
             return builder.build();
         }
 
@@ -338,6 +378,8 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedPawn, movedPawn));
+            builder.setPieceSquareScore(calculatePieceSquareScore(movedPawn));
             return builder.build();
         }
 
@@ -384,11 +426,17 @@ public abstract class Move {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece movedKing = this.movedPiece.movePiece(this);
+            builder.setPiece(movedKing);
             //calling movePiece here doesn't work, we need to explicitly create a new Rook
-            builder.setPiece(new Rook(this.castleRook.getPieceAllegiance(), this.castleRookDestination, false));
+            final Rook movedRook = new Rook(this.castleRook.getPieceAllegiance(), this.castleRookDestination, false);
+            builder.setPiece(movedRook);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedKing, null) ^
+                                  Zobrist.pieceKey(this.castleRook) ^ Zobrist.pieceKey(movedRook));
+            builder.setPieceSquareScore(calculatePieceSquareScore(movedKing) -
+                                        PieceSquareTables.pieceScore(this.castleRook) + PieceSquareTables.pieceScore(movedRook));
             return builder.build();
         }
 
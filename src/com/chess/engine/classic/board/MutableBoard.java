@@ -0,0 +1,492 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.*;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+public final class MutableBoard {
+
+    public static final int MAX_PLY = 256;
+    public static final int MAX_MOVES = PackedMove.MAX_MOVES;
+
+    static final int EMPTY = 0;
+    static final int PAWN = 1;
+    static final int KNIGHT = 2;
+    static final int BISHOP = 3;
+    static final int ROOK = 4;
+    static final int QUEEN = 5;
+    static final int KING = 6;
+    static final int BLACK_BIT = 8;
+    static final int TYPE_MASK = 7;
+
+    static final int WHITE = 0;
+    static final int BLACK = 1;
+
+    private static final int KING_SIDE_CAPABLE = 1;
+    private static final int QUEEN_SIDE_CAPABLE = 2;
+    private static final int CASTLED = 4;
+
+    private static final int[][] KNIGHT_TARGETS = BoardUtils.initStepTargets(new int[][] {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    private static final int[][] KING_TARGETS = BoardUtils.initStepTargets(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    //first four directions are orthogonal, last four are diagonal
+    private static final int[][] DIRECTIONS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final int[][][] RAYS = BoardUtils.initRays(DIRECTIONS);
+    private static final int[][][] PAWN_ATTACKS = {
+            BoardUtils.initStepTargets(new int[][] {{-1, -1}, {-1, 1}}),
+            BoardUtils.initStepTargets(new int[][] {{1, -1}, {1, 1}})};
+    private static final int[] PROMOTION_TYPES = {QUEEN, ROOK, BISHOP, KNIGHT};
+
+    private final int[] squares;
+    private final int[][] pieceSquares;
+    private final int[] pieceCount;
+    private final int[] listIndex;
+    private final int[] kingSquare;
+    private final int[] kingFlags;
+    private int sideToMove;
+    private int enPassantSquare;
+    private long unmoved;
+    private int ply;
+    //material plus location bonus, white minus black, kept up to date by every piece placed, lifted or moved
+    private int pieceSquareScore;
+
+    private final int[] undoMove;
+    private final int[] undoEnPassantSquare;
+    private final int[] undoKingFlags;
+    private final long[] undoUnmoved;
+
+    private MutableBoard() {
+        this.squares = new int[BoardUtils.NUM_TILES];
+        this.pieceSquares = new int[2][BoardUtils.NUM_TILES];
+        this.pieceCount = new int[2];
+        this.listIndex = new int[BoardUtils.NUM_TILES];
+        this.kingSquare = new int[] {-1, -1};
+        this.kingFlags = new int[2];
+        this.enPassantSquare = -1;
+        this.undoMove = new int[MAX_PLY];
+        this.undoEnPassantSquare = new int[MAX_PLY];
+        this.undoKingFlags = new int[MAX_PLY];
+        this.undoUnmoved = new long[MAX_PLY];
+    }
+
+    public static MutableBoard createStandardBoard() {
+        return fromBoard(Board.createStandardBoard());
+    }
+
+    public static MutableBoard fromBoard(final Board board) {
+        final MutableBoard mutableBoard = new MutableBoard();
+        for (final Piece piece : board.getAllPieces()) {
+            final int coordinate = piece.getPiecePosition();
+            mutableBoard.addPiece(coordinate, encodePiece(piece));
+            if (piece.isFirstMove()) {
+                mutableBoard.unmoved |= 1L << coordinate;
+            }
+            if (piece.getPieceType() == PieceType.KING) {
+                final King king = (King) piece;
+                final int side = sideOf(piece.getPieceAllegiance());
+                mutableBoard.kingSquare[side] = coordinate;
+                mutableBoard.kingFlags[side] = (king.isKingSideCastleCapable() ? KING_SIDE_CAPABLE : 0) |
+                                               (king.isQueenSideCastleCapable() ? QUEEN_SIDE_CAPABLE : 0) |
+                                               (king.isCastled() ? CASTLED : 0);
+            }
+        }
+        mutableBoard.sideToMove = sideOf(board.currentPlayer().getAlliance());
+        mutableBoard.enPassantSquare = board.getEnPassantPawn() != null ? board.getEnPassantPawn().getPiecePosition() : -1;
+        return mutableBoard;
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int side = WHITE; side <= BLACK; side++) {
+            for (int i = 0; i < this.pieceCount[side]; i++) {
+                final Piece piece = decodePiece(this.pieceSquares[side][i]);
+                builder.setPiece(piece);
+                if (piece.getPiecePosition() == this.enPassantSquare) {
+                    builder.setEnPassantPawn((Pawn) piece);
+                }
+            }
+        }
+        builder.setMoveMaker(currentAlliance());
+        return builder.build();
+    }
+
+    public Alliance currentAlliance() {
+        return this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public int getPieceSquareScore() {
+        return this.pieceSquareScore;
+    }
+
+    public PieceType getPieceType(final int coordinate) {
+        final int code = this.squares[coordinate];
+        return code == EMPTY ? null : PieceType.values()[(code & TYPE_MASK) - 1];
+    }
+
+    public Alliance getPieceAlliance(final int coordinate) {
+        final int code = this.squares[coordinate];
+        return code == EMPTY ? null : (code & BLACK_BIT) == 0 ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public boolean isInCheck() {
+        return isAttacked(this.kingSquare[this.sideToMove], this.sideToMove ^ 1);
+    }
+
+    public boolean isAttacked(final int coordinate,
+                              final Alliance attacker) {
+        return isAttacked(coordinate, sideOf(attacker));
+    }
+
+    public int generateMoves(final int[] moves) {
+        final int side = this.sideToMove;
+        final int[] list = this.pieceSquares[side];
+        int count = 0;
+        for (int i = 0; i < this.pieceCount[side]; i++) {
+            final int from = list[i];
+            switch (this.squares[from] & TYPE_MASK) {
+                case PAWN:
+                    count = generatePawnMoves(from, side, moves, count);
+                    break;
+                case KNIGHT:
+                    count = generateStepMoves(from, side, KNIGHT_TARGETS[from], moves, count);
+                    break;
+                case BISHOP:
+                    count = generateSlidingMoves(from, side, 4, 8, moves, count);
+                    break;
+                case ROOK:
+                    count = generateSlidingMoves(from, side, 0, 4, moves, count);
+                    break;
+                case QUEEN:
+                    count = generateSlidingMoves(from, side, 0, 8, moves, count);
+                    break;
+                case KING:
+                    count = generateStepMoves(from, side, KING_TARGETS[from], moves, count);
+                    count = generateCastleMoves(from, side, moves, count);
+                    break;
+                default:
+                    throw new RuntimeException("bad piece code " + this.squares[from] + " on " + from);
+            }
+        }
+        return count;
+    }
+
+    public boolean makeMove(final int move) {
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int flag = PackedMove.flag(move);
+        final int side = this.sideToMove;
+        final int movedPiece = this.squares[from];
+        final int capturedSquare = flag == PackedMove.EN_PASSANT ? to - pawnDirection(side) : to;
+        this.undoMove[this.ply] = move;
+        this.undoEnPassantSquare[this.ply] = this.enPassantSquare;
+        this.undoKingFlags[this.ply] = this.kingFlags[side];
+        this.undoUnmoved[this.ply] = this.unmoved;
+        if (this.squares[capturedSquare] != EMPTY) {
+            removePiece(capturedSquare);
+        }
+        relocatePiece(from, to);
+        this.unmoved &= ~((1L << from) | (1L << to));
+        final int promotionType = PackedMove.promotion(move);
+        if (promotionType != EMPTY) {
+            promotePiece(to, promotionType | (movedPiece & BLACK_BIT));
+        }
+        if ((movedPiece & TYPE_MASK) == KING) {
+            this.kingSquare[side] = to;
+            this.kingFlags[side] = 0;
+            if (flag == PackedMove.KING_SIDE_CASTLE) {
+                relocatePiece(from + 3, from + 1);
+                this.unmoved &= ~(1L << (from + 3));
+                this.kingFlags[side] = CASTLED;
+            } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+                relocatePiece(from - 4, from - 1);
+                this.unmoved &= ~(1L << (from - 4));
+                this.kingFlags[side] = CASTLED;
+            }
+        }
+        this.enPassantSquare = flag == PackedMove.PAWN_JUMP ? to : -1;
+        this.sideToMove = side ^ 1;
+        this.ply++;
+        if (isAttacked(this.kingSquare[side], side ^ 1)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.undoMove[this.ply];
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int flag = PackedMove.flag(move);
+        final int side = this.sideToMove ^ 1;
+        this.sideToMove = side;
+        if (PackedMove.isPromotion(move)) {
+            promotePiece(to, PAWN | (this.squares[to] & BLACK_BIT));
+        }
+        relocatePiece(to, from);
+        if ((this.squares[from] & TYPE_MASK) == KING) {
+            this.kingSquare[side] = from;
+            if (flag == PackedMove.KING_SIDE_CASTLE) {
+                relocatePiece(from + 1, from + 3);
+            } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+                relocatePiece(from - 1, from - 4);
+            }
+        }
+        if (PackedMove.isCapture(move)) {
+            addPiece(flag == PackedMove.EN_PASSANT ? to - pawnDirection(side) : to,
+                     PackedMove.captured(move) | (side == WHITE ? BLACK_BIT : 0));
+        }
+        this.enPassantSquare = this.undoEnPassantSquare[this.ply];
+        this.kingFlags[side] = this.undoKingFlags[this.ply];
+        this.unmoved = this.undoUnmoved[this.ply];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final int code = this.squares[i];
+            final String tileText = code == EMPTY ? "-" : PieceType.values()[(code & TYPE_MASK) - 1].toString();
+            builder.append(String.format("%3s", (code & BLACK_BIT) != 0 ? tileText.toLowerCase() : tileText));
+            if ((i + 1) % 8 == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private int generatePawnMoves(final int from,
+                                  final int side,
+                                  final int[] moves,
+                                  int count) {
+        final int direction = pawnDirection(side);
+        final int oneStep = from + direction;
+        if (BoardUtils.isValidTileCoordinate(oneStep) && this.squares[oneStep] == EMPTY) {
+            count = addPawnMove(from, oneStep, EMPTY, moves, count);
+            final int twoStep = oneStep + direction;
+            if (isPawnStartSquare(from, side) && (this.unmoved & (1L << from)) != 0 && this.squares[twoStep] == EMPTY) {
+                moves[count++] = PackedMove.encode(from, twoStep, PAWN, EMPTY, EMPTY, PackedMove.PAWN_JUMP);
+            }
+        }
+        for (final int target : PAWN_ATTACKS[side][from]) {
+            final int occupant = this.squares[target];
+            if (occupant != EMPTY) {
+                if (colorOf(occupant) != side) {
+                    count = addPawnMove(from, target, occupant & TYPE_MASK, moves, count);
+                }
+            } else if (this.enPassantSquare != -1 && target == this.enPassantSquare + direction) {
+                moves[count++] = PackedMove.encode(from, target, PAWN, PAWN, EMPTY, PackedMove.EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    private static int addPawnMove(final int from,
+                                   final int to,
+                                   final int captured,
+                                   final int[] moves,
+                                   int count) {
+        if (to < 8 || to >= 56) {
+            for (final int promotionType : PROMOTION_TYPES) {
+                moves[count++] = PackedMove.encode(from, to, PAWN, captured, promotionType, PackedMove.NORMAL);
+            }
+        } else {
+            moves[count++] = PackedMove.encode(from, to, PAWN, captured, EMPTY, PackedMove.NORMAL);
+        }
+        return count;
+    }
+
+    private int generateStepMoves(final int from,
+                                  final int side,
+                                  final int[] targets,
+                                  final int[] moves,
+                                  int count) {
+        final int piece = this.squares[from] & TYPE_MASK;
+        for (final int target : targets) {
+            final int occupant = this.squares[target];
+            if (occupant == EMPTY || colorOf(occupant) != side) {
+                moves[count++] = PackedMove.encode(from, target, piece, occupant & TYPE_MASK, EMPTY, PackedMove.NORMAL);
+            }
+        }
+        return count;
+    }
+
+    private int generateSlidingMoves(final int from,
+                                     final int side,
+                                     final int firstDirection,
+                                     final int lastDirection,
+                                     final int[] moves,
+                                     int count) {
+        final int piece = this.squares[from] & TYPE_MASK;
+        for (int direction = firstDirection; direction < lastDirection; direction++) {
+            for (final int target : RAYS[from][direction]) {
+                final int occupant = this.squares[target];
+                if (occupant == EMPTY) {
+                    moves[count++] = PackedMove.encode(from, target, piece, EMPTY, EMPTY, PackedMove.NORMAL);
+                } else {
+                    if (colorOf(occupant) != side) {
+                        moves[count++] = PackedMove.encode(from, target, piece, occupant & TYPE_MASK, EMPTY, PackedMove.NORMAL);
+                    }
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int generateCastleMoves(final int from,
+                                    final int side,
+                                    final int[] moves,
+                                    int count) {
+        final int homeSquare = side == WHITE ? 60 : 4;
+        if (from != homeSquare || (this.unmoved & (1L << from)) == 0 ||
+            (this.kingFlags[side] & (KING_SIDE_CAPABLE | QUEEN_SIDE_CAPABLE)) == 0 ||
+            (this.kingFlags[side] & CASTLED) != 0) {
+            return count;
+        }
+        final int opponent = side ^ 1;
+        if (isAttacked(from, opponent)) {
+            return count;
+        }
+        final int rook = ROOK | (side == WHITE ? 0 : BLACK_BIT);
+        if (this.squares[from + 1] == EMPTY && this.squares[from + 2] == EMPTY &&
+            this.squares[from + 3] == rook && (this.unmoved & (1L << (from + 3))) != 0 &&
+            !isAttacked(from + 1, opponent) && !isAttacked(from + 2, opponent)) {
+            moves[count++] = PackedMove.encode(from, from + 2, KING, EMPTY, EMPTY, PackedMove.KING_SIDE_CASTLE);
+        }
+        if (this.squares[from - 1] == EMPTY && this.squares[from - 2] == EMPTY && this.squares[from - 3] == EMPTY &&
+            this.squares[from - 4] == rook && (this.unmoved & (1L << (from - 4))) != 0 &&
+            !isAttacked(from - 1, opponent) && !isAttacked(from - 2, opponent)) {
+            moves[count++] = PackedMove.encode(from, from - 2, KING, EMPTY, EMPTY, PackedMove.QUEEN_SIDE_CASTLE);
+        }
+        return count;
+    }
+
+    private boolean isAttacked(final int coordinate,
+                               final int attacker) {
+        final int colorBit = attacker == WHITE ? 0 : BLACK_BIT;
+        for (final int source : PAWN_ATTACKS[attacker ^ 1][coordinate]) {
+            if (this.squares[source] == (PAWN | colorBit)) {
+                return true;
+            }
+        }
+        for (final int source : KNIGHT_TARGETS[coordinate]) {
+            if (this.squares[source] == (KNIGHT | colorBit)) {
+                return true;
+            }
+        }
+        for (final int source : KING_TARGETS[coordinate]) {
+            if (this.squares[source] == (KING | colorBit)) {
+                return true;
+            }
+        }
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            final int slider = direction < 4 ? ROOK : BISHOP;
+            for (final int source : RAYS[coordinate][direction]) {
+                final int occupant = this.squares[source];
+                if (occupant != EMPTY) {
+                    if (occupant == (slider | colorBit) || occupant == (QUEEN | colorBit)) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addPiece(final int coordinate,
+                          final int code) {
+        final int side = colorOf(code);
+        this.pieceSquares[side][this.pieceCount[side]] = coordinate;
+        this.listIndex[coordinate] = this.pieceCount[side]++;
+        this.squares[coordinate] = code;
+        this.pieceSquareScore += pieceSquareScore(code, coordinate);
+    }
+
+    private void removePiece(final int coordinate) {
+        final int side = colorOf(this.squares[coordinate]);
+        final int index = this.listIndex[coordinate];
+        final int lastCoordinate = this.pieceSquares[side][--this.pieceCount[side]];
+        this.pieceSquares[side][index] = lastCoordinate;
+        this.listIndex[lastCoordinate] = index;
+        this.pieceSquareScore -= pieceSquareScore(this.squares[coordinate], coordinate);
+        this.squares[coordinate] = EMPTY;
+    }
+
+    private void relocatePiece(final int from,
+                               final int to) {
+        final int code = this.squares[from];
+        final int index = this.listIndex[from];
+        this.pieceSquares[colorOf(code)][index] = to;
+        this.listIndex[to] = index;
+        this.squares[to] = code;
+        this.squares[from] = EMPTY;
+        this.pieceSquareScore += pieceSquareScore(code, to) - pieceSquareScore(code, from);
+    }
+
+    //swaps the piece on a tile for another of the same colour, a pawn for its promotion piece and back
+    private void promotePiece(final int coordinate,
+                              final int code) {
+        this.pieceSquareScore += pieceSquareScore(code, coordinate) - pieceSquareScore(this.squares[coordinate], coordinate);
+        this.squares[coordinate] = code;
+    }
+
+    private static int pieceSquareScore(final int code,
+                                        final int coordinate) {
+        return PieceSquareTables.score(colorOf(code), (code & TYPE_MASK) - 1, coordinate);
+    }
+
+    private Piece decodePiece(final int coordinate) {
+        final int code = this.squares[coordinate];
+        final Alliance alliance = (code & BLACK_BIT) == 0 ? Alliance.WHITE : Alliance.BLACK;
+        final boolean isFirstMove = (this.unmoved & (1L << coordinate)) != 0;
+        switch (code & TYPE_MASK) {
+            case PAWN:
+                return new Pawn(alliance, coordinate, isFirstMove);
+            case KNIGHT:
+                return new Knight(alliance, coordinate, isFirstMove);
+            case BISHOP:
+                return new Bishop(alliance, coordinate, isFirstMove);
+            case ROOK:
+                return new Rook(alliance, coordinate, isFirstMove);
+            case QUEEN:
+                return new Queen(alliance, coordinate, isFirstMove);
+            case KING:
+                final int flags = this.kingFlags[colorOf(code)];
+                return new King(alliance, coordinate, isFirstMove, (flags & CASTLED) != 0,
+                        (flags & KING_SIDE_CAPABLE) != 0, (flags & QUEEN_SIDE_CAPABLE) != 0);
+            default:
+                throw new RuntimeException("bad piece code " + code + " on " + coordinate);
+        }
+    }
+
+    private static int encodePiece(final Piece piece) {
+        return (piece.getPieceType().ordinal() + 1) | (piece.getPieceAllegiance().isBlack() ? BLACK_BIT : 0);
+    }
+
+    private static int sideOf(final Alliance alliance) {
+        return alliance.isWhite() ? WHITE : BLACK;
+    }
+
+    private static int colorOf(final int code) {
+        return (code & BLACK_BIT) == 0 ? WHITE : BLACK;
+    }
+
+    private static int pawnDirection(final int side) {
+        return side == WHITE ? -8 : 8;
+    }
+
+    private static boolean isPawnStartSquare(final int coordinate,
+                                             final int side) {
+        return side == WHITE ? coordinate >= 48 && coordinate < 56 : coordinate >= 8 && coordinate < 16;
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.board.Move.KingSideCastleMove;
+import com.chess.engine.classic.board.Move.MoveFactory;
+import com.chess.engine.classic.board.Move.PawnEnPassantAttack;
+import com.chess.engine.classic.board.Move.PawnJump;
+import com.chess.engine.classic.board.Move.PawnPromotion;
+import com.chess.engine.classic.board.Move.QueenSideCastleMove;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+//one move in an int, shared by MutableBoard and BitBoardV2:
+//bits 0-5 from, 6-11 to, 12-14 promotion piece, 15-17 moved piece, 18-20 captured piece, 21-23 flag
+//piece codes are PieceType ordinal + 1, so 0 means no piece and no real move packs to 0
+public final class PackedMove {
+
+    public static final int NULL_MOVE = 0;
+    public static final int MAX_MOVES = 256;
+
+    public static final int NORMAL = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    //from, to and promotion tell the moves of one position apart, which is all the transposition table keeps
+    public static final int IDENTITY_MASK = 0x7FFF;
+
+    private static final int NO_PIECE = 0;
+
+    private PackedMove() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static int encode(final int from,
+                             final int to,
+                             final int piece,
+                             final int captured,
+                             final int promotion,
+                             final int flag) {
+        return from | (to << 6) | (promotion << 12) | (piece << 15) | (captured << 18) | (flag << 21);
+    }
+
+    public static int from(final int move) {
+        return move & 63;
+    }
+
+    public static int to(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int promotion(final int move) {
+        return (move >>> 12) & 7;
+    }
+
+    public static int piece(final int move) {
+        return (move >>> 15) & 7;
+    }
+
+    public static int captured(final int move) {
+        return (move >>> 18) & 7;
+    }
+
+    public static int flag(final int move) {
+        return (move >>> 21) & 7;
+    }
+
+    public static boolean isCapture(final int move) {
+        return captured(move) != NO_PIECE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return promotion(move) != NO_PIECE;
+    }
+
+    public static int pieceCode(final PieceType pieceType) {
+        return pieceType.ordinal() + 1;
+    }
+
+    public static PieceType pieceType(final int pieceCode) {
+        return pieceCode == NO_PIECE ? null : PieceType.values()[pieceCode - 1];
+    }
+
+    //one move list per ply, allocated once before a search or a perft run
+    public static int[][] createMoveBuffers(final int plies) {
+        return new int[plies][MAX_MOVES];
+    }
+
+    public static int fromClassicMove(final Move classicMove) {
+        if (classicMove == MoveFactory.getNullMove()) {
+            return NULL_MOVE;
+        }
+        final int flag;
+        if (classicMove instanceof KingSideCastleMove) {
+            flag = KING_SIDE_CASTLE;
+        } else if (classicMove instanceof QueenSideCastleMove) {
+            flag = QUEEN_SIDE_CASTLE;
+        } else if (classicMove instanceof PawnJump) {
+            flag = PAWN_JUMP;
+        } else if (classicMove instanceof PawnEnPassantAttack) {
+            flag = EN_PASSANT;
+        } else {
+            flag = NORMAL;
+        }
+        return encode(classicMove.getCurrentCoordinate(),
+                      classicMove.getDestinationCoordinate(),
+                      pieceCode(classicMove.getMovedPiece().getPieceType()),
+                      classicMove.isAttack() ? pieceCode(classicMove.getAttackedPiece().getPieceType()) : NO_PIECE,
+                      classicPromotion(classicMove),
+                      flag);
+    }
+
+    //looks the move up among the legal moves of the board, the null move when it is not one of them
+    public static Move toClassicMove(final Board board,
+                                     final int move) {
+        for (final Move classicMove : board.currentPlayer().getLegalMoves()) {
+            if (classicMove.getCurrentCoordinate() == from(move) &&
+                classicMove.getDestinationCoordinate() == to(move) &&
+                classicPromotion(classicMove) == promotion(move)) {
+                return classicMove;
+            }
+        }
+        return MoveFactory.getNullMove();
+    }
+
+    //coordinate notation, e2e4 or e7e8q
+    public static String toString(final int move) {
+        final int promotion = promotion(move);
+        return BoardUtils.INSTANCE.getPositionAtCoordinate(from(move)) +
+               BoardUtils.INSTANCE.getPositionAtCoordinate(to(move)) +
+               (promotion == NO_PIECE ? "" : pieceType(promotion).toString().toLowerCase());
+    }
+
+    public static String toSan(final Board board,
+                               final int move) {
+        final Move classicMove = toClassicMove(board, move);
+        if (classicMove == MoveFactory.getNullMove()) {
+            throw new RuntimeException("not a legal move " + toString(move));
+        }
+        final MoveTransition transition = board.currentPlayer().makeMove(classicMove);
+        if (!transition.getMoveStatus().isDone()) {
+            throw new RuntimeException("not a legal move " + toString(move));
+        }
+        final StringBuilder san = new StringBuilder();
+        final int flag = flag(move);
+        if (flag == KING_SIDE_CASTLE) {
+            san.append("O-O");
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            san.append("O-O-O");
+        } else {
+            final String fromText = BoardUtils.INSTANCE.getPositionAtCoordinate(from(move));
+            final PieceType movedType = classicMove.getMovedPiece().getPieceType();
+            if (movedType == PieceType.PAWN) {
+                if (classicMove.isAttack()) {
+                    san.append(fromText.charAt(0)).append('x');
+                }
+            } else {
+                san.append(movedType).append(disambiguation(board, classicMove, fromText));
+                if (classicMove.isAttack()) {
+                    san.append('x');
+                }
+            }
+            san.append(BoardUtils.INSTANCE.getPositionAtCoordinate(to(move)));
+            if (isPromotion(move)) {
+                san.append('=').append(pieceType(promotion(move)));
+            }
+        }
+        final Board toBoard = transition.getToBoard();
+        if (toBoard.currentPlayer().isInCheckMate()) {
+            san.append('#');
+        } else if (toBoard.currentPlayer().isInCheck()) {
+            san.append('+');
+        }
+        return san.toString();
+    }
+
+    //matches the text against the SAN of every legal move, check and mate marks are optional
+    public static int fromSan(final Board board,
+                              final String san) {
+        final String text = stripCheckMarks(san.trim().replace('0', 'O'));
+        for (final Move classicMove : board.currentPlayer().getLegalMoves()) {
+            if (!board.currentPlayer().makeMove(classicMove).getMoveStatus().isDone()) {
+                continue;
+            }
+            final int move = fromClassicMove(classicMove);
+            if (stripCheckMarks(toSan(board, move)).equals(text)) {
+                return move;
+            }
+        }
+        throw new RuntimeException("no legal move matches " + san);
+    }
+
+    //file first, then rank, then both, whichever tells this piece apart from the others that reach the same tile
+    private static String disambiguation(final Board board,
+                                         final Move classicMove,
+                                         final String fromText) {
+        boolean isAmbiguous = false;
+        boolean isFileShared = false;
+        boolean isRankShared = false;
+        for (final Move other : board.currentPlayer().getLegalMoves()) {
+            if (other.getDestinationCoordinate() != classicMove.getDestinationCoordinate() ||
+                other.getCurrentCoordinate() == classicMove.getCurrentCoordinate() ||
+                other.getMovedPiece().getPieceType() != classicMove.getMovedPiece().getPieceType() ||
+                !board.currentPlayer().makeMove(other).getMoveStatus().isDone()) {
+                continue;
+            }
+            final String otherText = BoardUtils.INSTANCE.getPositionAtCoordinate(other.getCurrentCoordinate());
+            isAmbiguous = true;
+            isFileShared |= otherText.charAt(0) == fromText.charAt(0);
+            isRankShared |= otherText.charAt(1) == fromText.charAt(1);
+        }
+        if (!isAmbiguous) {
+            return "";
+        }
+        if (!isFileShared) {
+            return fromText.substring(0, 1);
+        }
+        return isRankShared ? fromText : fromText.substring(1);
+    }
+
+    private static String stripCheckMarks(final String san) {
+        int end = san.length();
+        while (end > 0 && (san.charAt(end - 1) == '+' || san.charAt(end - 1) == '#')) {
+            end--;
+        }
+        return san.substring(0, end);
+    }
+
+    private static int classicPromotion(final Move move) {
+        return move instanceof PawnPromotion ? pieceCode(((PawnPromotion) move).getPromotionPiece().getPieceType()) : NO_PIECE;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+//piece value plus the Alliance location bonus for every alliance, piece type and tile, read once into one table so
+//boards can keep the sum up to date move by move instead of asking every piece for it
+public final class PieceSquareTables {
+
+    private static final int[][][] SCORES = initScores();
+
+    private PieceSquareTables() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    //white pieces count up and black pieces count down, the same sign the evaluator uses
+    public static int pieceScore(final Piece piece) {
+        return score(piece.getPieceAllegiance().isWhite() ? 0 : 1, piece.getPieceType().ordinal(), piece.getPiecePosition());
+    }
+
+    public static int score(final int side,
+                            final int pieceTypeIndex,
+                            final int tile) {
+        return SCORES[side][pieceTypeIndex][tile];
+    }
+
+    public static int calculateScore(final Board board) {
+        int score = 0;
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            final Piece piece = board.getPiece(tile);
+            if (piece != null) {
+                score += pieceScore(piece);
+            }
+        }
+        return score;
+    }
+
+    private static int[][][] initScores() {
+        final int[][][] scores = new int[2][PieceType.values().length][BoardUtils.NUM_TILES];
+        for (final Alliance alliance : Alliance.values()) {
+            final int side = alliance.isWhite() ? 0 : 1;
+            final int sign = alliance.isWhite() ? 1 : -1;
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                    scores[side][pieceType.ordinal()][tile] = sign * (pieceType.getPieceValue() + locationBonus(alliance, pieceType, tile));
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static int locationBonus(final Alliance alliance,
+                                     final PieceType pieceType,
+                                     final int tile) {
+        switch (pieceType) {
+            case PAWN:
+                return alliance.pawnBonus(tile);
+            case KNIGHT:
+                return alliance.knightBonus(tile);
+            case BISHOP:
+                return alliance.bishopBonus(tile);
+            case ROOK:
+                return alliance.rookBonus(tile);
+            case QUEEN:
+                return alliance.queenBonus(tile);
+            case KING:
+                return alliance.kingBonus(tile);
+            default:
+                throw new RuntimeException("Unknown piece type " + pieceType);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.King;
+import com.chess.engine.classic.pieces.Pawn;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+import java.util.Random;
+
+public final class Zobrist {
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    //one extra slot per alliance for a castled king, the evaluator scores it differently
+    private static final int CASTLED_KING_INDEX = PieceType.values().length;
+    private static final long[][][] PIECE_KEYS = new long[2][CASTLED_KING_INDEX + 1][BoardUtils.NUM_TILES];
+    private static final long[] CASTLE_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long SIDE_TO_MOVE_KEY;
+    private static final int[] CASTLE_RIGHTS_MASK = new int[BoardUtils.NUM_TILES];
+
+    static {
+        final Random random = new Random(0x5EEDCAFEL);
+        for (final long[][] allianceKeys : PIECE_KEYS) {
+            for (final long[] pieceKeys : allianceKeys) {
+                for (int i = 0; i < pieceKeys.length; i++) {
+                    pieceKeys[i] = random.nextLong();
+                }
+            }
+        }
+        for (int i = 1; i < CASTLE_KEYS.length; i++) {
+            CASTLE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        SIDE_TO_MOVE_KEY = random.nextLong();
+        for (int i = 0; i < CASTLE_RIGHTS_MASK.length; i++) {
+            CASTLE_RIGHTS_MASK[i] = ~0;
+        }
+        CASTLE_RIGHTS_MASK[60] = ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLE_RIGHTS_MASK[63] = ~WHITE_KING_SIDE;
+        CASTLE_RIGHTS_MASK[56] = ~WHITE_QUEEN_SIDE;
+        CASTLE_RIGHTS_MASK[4] = ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLE_RIGHTS_MASK[7] = ~BLACK_KING_SIDE;
+        CASTLE_RIGHTS_MASK[0] = ~BLACK_QUEEN_SIDE;
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        for (final Piece piece : board.getWhitePieces()) {
+            key ^= pieceKey(piece);
+        }
+        for (final Piece piece : board.getBlackPieces()) {
+            key ^= pieceKey(piece);
+        }
+        if (board.currentPlayer().getAlliance().isBlack()) {
+            key ^= SIDE_TO_MOVE_KEY;
+        }
+        return key ^ enPassantKey(board.getEnPassantPawn()) ^ castleKey(castleRights(board));
+    }
+
+    public static long pieceKey(final Piece piece) {
+        final int pieceIndex = piece.getPieceType() == PieceType.KING && ((King) piece).isCastled() ?
+                CASTLED_KING_INDEX : piece.getPieceType().ordinal();
+        return PIECE_KEYS[piece.getPieceAllegiance().isWhite() ? 0 : 1][pieceIndex][piece.getPiecePosition()];
+    }
+
+    public static long sideToMoveKey() {
+        return SIDE_TO_MOVE_KEY;
+    }
+
+    public static long enPassantKey(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long castleKey(final int castleRights) {
+        return CASTLE_KEYS[castleRights];
+    }
+
+    //a right is lost for good as soon as anything moves from or to the king or rook home tile
+    public static int updateCastleRights(final int castleRights,
+                                         final int currentCoordinate,
+                                         final int destinationCoordinate) {
+        return castleRights & CASTLE_RIGHTS_MASK[currentCoordinate] & CASTLE_RIGHTS_MASK[destinationCoordinate];
+    }
+
+    public static int castleRights(final Board board) {
+        return castleRights(board, Alliance.WHITE, 60, WHITE_KING_SIDE, WHITE_QUEEN_SIDE) |
+               castleRights(board, Alliance.BLACK, 4, BLACK_KING_SIDE, BLACK_QUEEN_SIDE);
+    }
+
+    private static int castleRights(final Board board,
+                                    final Alliance alliance,
+                                    final int kingTile,
+                                    final int kingSideRight,
+                                    final int queenSideRight) {
+        final Piece piece = board.getPiece(kingTile);
+        if (piece == null || piece.getPieceType() != PieceType.KING || piece.getPieceAllegiance() != alliance) {
+            return 0;
+        }
+        final King king = (King) piece;
+        if (!king.isFirstMove() || king.isCastled() || !(king.isKingSideCastleCapable() || king.isQueenSideCastleCapable())) {
+            return 0;
+        }
+        return (isUnmovedRook(board.getPiece(kingTile + 3), alliance) ? kingSideRight : 0) |
+               (isUnmovedRook(board.getPiece(kingTile - 4), alliance) ? queenSideRight : 0);
+    }
+
+    private static boolean isUnmovedRook(final Piece piece,
+                                         final Alliance alliance) {
+        return piece != null && piece.getPieceType() == PieceType.ROOK &&
+               piece.getPieceAllegiance() == alliance && piece.isFirstMove();
+    }
+
+}
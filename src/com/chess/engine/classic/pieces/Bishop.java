@@ -14,7 +14,9 @@ import java.util.List;
 
 public final class Bishop extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-9, -7, 7, 9};
+    //one ray per diagonal for each tile, running out to the edge of the board nearest tile first
+    private final static int[][][] CANDIDATE_RAYS = BoardUtils.initRays(new int[][] {
+            {-1, -1}, {-1, 1}, {1, -1}, {1, 1}});
 
     public Bishop(final Alliance alliance,
                   final int piecePosition) {
@@ -29,28 +31,31 @@ public final class Bishop extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMoves(board, false);
+    }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        return calculateMoves(board, true);
+    }
+
+    private Collection<Move> calculateMoves(final Board board,
+                                            final boolean attacksOnly) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                if (isFirstColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate) ||
-                    isEighthColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate)) {
-                    break;
-                }
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                    if (pieceAtDestination == null) {
+        for (final int[] ray : CANDIDATE_RAYS[this.piecePosition]) {
+            for (final int candidateDestinationCoordinate : ray) {
+                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+                if (pieceAtDestination == null) {
+                    if (!attacksOnly) {
                         legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
                     }
-                    else {
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAllegiance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                    pieceAtDestination));
-                        }
-                        break;
+                } else {
+                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
+                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
+                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                                pieceAtDestination));
                     }
+                    break;
                 }
             }
         }
@@ -72,16 +77,4 @@ public final class Bishop extends Piece {
         return this.pieceType.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentCandidate,
-                                                  final int candidateDestinationCoordinate) {
-        return (BoardUtils.INSTANCE.FIRST_COLUMN.get(candidateDestinationCoordinate) &&
-                ((currentCandidate == -9) || (currentCandidate == 7)));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentCandidate,
-                                                   final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(candidateDestinationCoordinate) &&
-                        ((currentCandidate == -7) || (currentCandidate == 9));
-    }
-
 }
\ No newline at end of file
@@ -14,7 +14,8 @@ import java.util.List;
 
 public final class King extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1, 7, 8, 9 };
+    private final static int[][] CANDIDATE_DESTINATIONS = BoardUtils.initStepTargets(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -55,23 +56,28 @@ public final class King extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMoves(board, false);
+    }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        return calculateMoves(board, true);
+    }
+
+    private Collection<Move> calculateMoves(final Board board,
+                                            final boolean attacksOnly) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            if (isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                continue;
-            }
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                if (pieceAtDestination == null) {
+        for (final int candidateDestinationCoordinate : CANDIDATE_DESTINATIONS[this.piecePosition]) {
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            if (pieceAtDestination == null) {
+                if (!attacksOnly) {
                     legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                pieceAtDestination));
-                    }
+                }
+            } else {
+                final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
+                if (this.pieceAlliance != pieceAtDestinationAllegiance) {
+                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                            pieceAtDestination));
                 }
             }
         }
@@ -113,17 +119,4 @@ public final class King extends Piece {
         return (31 * super.hashCode()) + (isCastled ? 1 : 0);
     }
 
-    private static boolean isFirstColumnExclusion(final int currentCandidate,
-                                                  final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -9) || (candidateDestinationCoordinate == -1) ||
-                (candidateDestinationCoordinate == 7));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentCandidate,
-                                                   final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -7) || (candidateDestinationCoordinate == 1) ||
-                (candidateDestinationCoordinate == 9));
-    }
 }
\ No newline at end of file
@@ -14,7 +14,9 @@ import java.util.List;
 
 public final class Knight extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -17, -15, -10, -6, 6, 10, 15, 17 };
+    //the tiles a knight reaches from each tile, built once so the off board jumps are never tried
+    private final static int[][] CANDIDATE_DESTINATIONS = BoardUtils.initStepTargets(new int[][] {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
 
     public Knight(final Alliance alliance,
                   final int piecePosition) {
@@ -29,25 +31,28 @@ public final class Knight extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMoves(board, false);
+    }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        return calculateMoves(board, true);
+    }
+
+    private Collection<Move> calculateMoves(final Board board,
+                                            final boolean attacksOnly) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            if(isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-               isSecondColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-               isSeventhColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-               isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                continue;
-            }
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                if (pieceAtDestination == null) {
+        for (final int candidateDestinationCoordinate : CANDIDATE_DESTINATIONS[this.piecePosition]) {
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            if (pieceAtDestination == null) {
+                if (!attacksOnly) {
                     legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                pieceAtDestination));
-                    }
+                }
+            } else {
+                final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
+                if (this.pieceAlliance != pieceAtDestinationAllegiance) {
+                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                            pieceAtDestination));
                 }
             }
         }
@@ -69,26 +74,4 @@ public final class Knight extends Piece {
         return this.pieceType.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition,
-                                                  final int candidateOffset) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentPosition) && ((candidateOffset == -17) ||
-                (candidateOffset == -10) || (candidateOffset == 6) || (candidateOffset == 15));
-    }
-
-    private static boolean isSecondColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.SECOND_COLUMN.get(currentPosition) && ((candidateOffset == -10) || (candidateOffset == 6));
-    }
-
-    private static boolean isSeventhColumnExclusion(final int currentPosition,
-                                                    final int candidateOffset) {
-        return BoardUtils.INSTANCE.SEVENTH_COLUMN.get(currentPosition) && ((candidateOffset == -6) || (candidateOffset == 10));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentPosition) && ((candidateOffset == -15) || (candidateOffset == -6) ||
-                (candidateOffset == 10) || (candidateOffset == 17));
-    }
-
 }
\ No newline at end of file
@@ -14,7 +14,9 @@ import java.util.List;
 public final class Pawn
         extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {8, 16, 7, 9};
+    //the two diagonal tiles a pawn captures on from each tile, one table per side
+    private final static int[][] WHITE_ATTACK_DESTINATIONS = BoardUtils.initStepTargets(new int[][] {{-1, 1}, {-1, -1}});
+    private final static int[][] BLACK_ATTACK_DESTINATIONS = BoardUtils.initStepTargets(new int[][] {{1, -1}, {1, 1}});
 
     public Pawn(final Alliance allegiance,
                 final int piecePosition) {
@@ -34,109 +36,72 @@ public final class Pawn
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMoves(board, false);
+    }
+
+    //captures, en passant and promotions, quiet promotions included since they change the material balance too
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        return calculateMoves(board, true);
+    }
+
+    private Collection<Move> calculateMoves(final Board board,
+                                            final boolean attacksOnly) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate =
-                    this.piecePosition + (this.pieceAlliance.getDirection() * currentCandidateOffset);
-            if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                continue;
+        final int forwardStep = this.pieceAlliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final int pushDestinationCoordinate = this.piecePosition + forwardStep;
+        if (BoardUtils.isValidTileCoordinate(pushDestinationCoordinate) && board.getPiece(pushDestinationCoordinate) == null) {
+            if (this.pieceAlliance.isPawnPromotionSquare(pushDestinationCoordinate)) {
+                addPromotions(legalMoves, new PawnMove(board, this, pushDestinationCoordinate));
             }
-            if (currentCandidateOffset == 8 && board.getPiece(candidateDestinationCoordinate) == null) {
-                if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                }
-                else {
-                    legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
-                }
-            }
-            else if (currentCandidateOffset == 16 && this.isFirstMove() &&
-                    ((BoardUtils.INSTANCE.SECOND_ROW.get(this.piecePosition) && this.pieceAlliance.isBlack()) ||
-                     (BoardUtils.INSTANCE.SEVENTH_ROW.get(this.piecePosition) && this.pieceAlliance.isWhite()))) {
-                final int behindCandidateDestinationCoordinate =
-                        this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (board.getPiece(candidateDestinationCoordinate) == null &&
-                    board.getPiece(behindCandidateDestinationCoordinate) == null) {
-                    legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
+            else if (!attacksOnly) {
+                legalMoves.add(new PawnMove(board, this, pushDestinationCoordinate));
+                final int jumpDestinationCoordinate = pushDestinationCoordinate + forwardStep;
+                if (this.isFirstMove() && isOnStartingRow() && board.getPiece(jumpDestinationCoordinate) == null) {
+                    legalMoves.add(new PawnJump(board, this, jumpDestinationCoordinate));
                 }
             }
-            else if (currentCandidateOffset == 7 &&
-                    !((BoardUtils.INSTANCE.EIGHTH_COLUMN.get(this.piecePosition) && this.pieceAlliance.isWhite()) ||
-                      (BoardUtils.INSTANCE.FIRST_COLUMN.get(this.piecePosition) && this.pieceAlliance.isBlack()))) {
-                if(board.getPiece(candidateDestinationCoordinate) != null) {
-                    final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                        }
-                        else {
-                            legalMoves.add(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
+        }
+        final int[] attackDestinations = this.pieceAlliance.isWhite() ?
+                WHITE_ATTACK_DESTINATIONS[this.piecePosition] : BLACK_ATTACK_DESTINATIONS[this.piecePosition];
+        for (final int candidateDestinationCoordinate : attackDestinations) {
+            final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
+            if (pieceOnCandidate != null) {
+                if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
+                    if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                        addPromotions(legalMoves, new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                     }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                           (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
-                        legalMoves.add(
-                                new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-
+                    else {
+                        legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                     }
                 }
             }
-            else if (currentCandidateOffset == 9 &&
-                    !((BoardUtils.INSTANCE.FIRST_COLUMN.get(this.piecePosition) && this.pieceAlliance.isWhite()) ||
-                      (BoardUtils.INSTANCE.EIGHTH_COLUMN.get(this.piecePosition) && this.pieceAlliance.isBlack()))) {
-                if(board.getPiece(candidateDestinationCoordinate) != null) {
-                    if (this.pieceAlliance !=
-                            board.getPiece(candidateDestinationCoordinate).getPieceAllegiance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                        }
-                        else {
-                            legalMoves.add(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
-                        legalMoves.add(
-                                new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-
-                    }
+            //the pawn that just jumped sits beside this one, right behind the tile it skipped
+            else if (board.getEnPassantPawn() != null &&
+                     board.getEnPassantPawn().getPiecePosition() == candidateDestinationCoordinate - forwardStep) {
+                final Piece enPassantPawn = board.getEnPassantPawn();
+                if (this.pieceAlliance != enPassantPawn.getPieceAllegiance()) {
+                    legalMoves.add(new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, enPassantPawn));
                 }
             }
         }
         return Collections.unmodifiableList(legalMoves);
     }
 
+    private boolean isOnStartingRow() {
+        final int row = this.piecePosition / BoardUtils.NUM_TILES_PER_ROW;
+        return this.pieceAlliance.isWhite() ? row == BoardUtils.NUM_TILES_PER_ROW - 2 : row == 1;
+    }
+
+    private void addPromotions(final List<Move> legalMoves,
+                               final Move pawnMove) {
+        final int destination = pawnMove.getDestinationCoordinate();
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
+    }
+
     @Override
     public String toString() {
         return this.pieceType.toString();
@@ -51,6 +51,8 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    public abstract Collection<Move> calculateAttackMoves(final Board board);
+
 
     @Override
     public boolean equals(final Object other) {
@@ -14,8 +14,8 @@ import java.util.List;
 
 public final class Queen extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1,
-        7, 8, 9 };
+    private final static int[][][] CANDIDATE_RAYS = BoardUtils.initRays(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
 
     public Queen(final Alliance alliance, final int piecePosition) {
         super(PieceType.QUEEN, alliance, piecePosition, true);
@@ -29,29 +29,31 @@ public final class Queen extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMoves(board, false);
+    }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        return calculateMoves(board, true);
+    }
+
+    private Collection<Move> calculateMoves(final Board board,
+                                            final boolean attacksOnly) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (true) {
-                if (isFirstColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate) ||
-                    isEightColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate)) {
-                    break;
-                }
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    break;
-                } else {
-                    final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                    if (pieceAtDestination == null) {
+        for (final int[] ray : CANDIDATE_RAYS[this.piecePosition]) {
+            for (final int candidateDestinationCoordinate : ray) {
+                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+                if (pieceAtDestination == null) {
+                    if (!attacksOnly) {
                         legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                        if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                    pieceAtDestination));
-                        }
-                        break;
                     }
+                } else {
+                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
+                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
+                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                                pieceAtDestination));
+                    }
+                    break;
                 }
             }
         }
@@ -73,16 +75,4 @@ public final class Queen extends Piece {
         return this.pieceType.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition,
-                                                  final int candidatePosition) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(candidatePosition) && ((currentPosition == -9)
-                || (currentPosition == -1) || (currentPosition == 7));
-    }
-
-    private static boolean isEightColumnExclusion(final int currentPosition,
-                                                  final int candidatePosition) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(candidatePosition) && ((currentPosition == -7)
-                || (currentPosition == 1) || (currentPosition == 9));
-    }
-
 }
\ No newline at end of file
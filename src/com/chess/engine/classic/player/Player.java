@@ -2,46 +2,51 @@ package com.chess.engine.classic.player;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
 import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.board.Move.MoveStatus;
+import com.chess.engine.classic.board.Move.PawnEnPassantAttack;
+import com.chess.engine.classic.board.Move.PawnPromotion;
 import com.chess.engine.classic.board.MoveTransition;
 import com.chess.engine.classic.pieces.King;
 import com.chess.engine.classic.pieces.Piece;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import static com.chess.engine.classic.pieces.Piece.PieceType.KING;
-import static java.util.stream.Collectors.collectingAndThen;
 
 public abstract class Player {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    protected final boolean isInCheck;
+    //computed on first access, a search leaf usually only asks for a few of these
+    private volatile Collection<Move> standardMoves;
+    private volatile Collection<Move> legalMoves;
+    private volatile Boolean isInCheck;
 
-    Player(final Board board,
-           final Collection<Move> playerLegals,
-           final Collection<Move> opponentLegals) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
-        playerLegals.addAll(calculateKingCastles(playerLegals, opponentLegals));
-        this.legalMoves = Collections.unmodifiableCollection(playerLegals);
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        Boolean result = this.isInCheck;
+        if (result == null) {
+            result = isTileAttacked(this.playerKing.getPiecePosition());
+            this.isInCheck = result;
+        }
+        return result;
     }
 
     public boolean isInCheckMate() {
-       return this.isInCheck && !hasEscapeMoves();
+       return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCastled() {
@@ -61,37 +66,101 @@ public abstract class Player {
     }
 
     private King establishKing() {
-        return (King) getActivePieces().stream()
-                                       .filter(piece -> piece.getPieceType() == KING)
-                                       .findAny()
-                                       .orElseThrow(RuntimeException::new);
+        for (final Piece piece : getActivePieces()) {
+            if (piece.getPieceType() == KING) {
+                return (King) piece;
+            }
+        }
+        throw new RuntimeException("Should not reach here! " + getAlliance() + " king could not be established!");
     }
 
     private boolean hasEscapeMoves() {
-        return this.legalMoves.stream()
-                              .anyMatch(move -> makeMove(move)
-                              .getMoveStatus().isDone());
+        for (final Move move : getLegalMoves()) {
+            if (isMoveLegal(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //tests one of getLegalMoves() for leaving the king attacked without building the successor board
+    public boolean isMoveLegal(final Move move) {
+        if (move.isCastlingMove()) {
+            //castles are only generated when the king and the tiles it crosses are safe
+            return true;
+        }
+        final int currentTile = move.getCurrentCoordinate();
+        final int destinationTile = move.getDestinationCoordinate();
+        final Alliance opponentAlliance = getOpponent().getAlliance();
+        if (move.getMovedPiece().getPieceType() == KING) {
+            return !BoardUtils.isTileAttacked(this.board, destinationTile, opponentAlliance, currentTile, -1, -1);
+        }
+        final int kingTile = this.playerKing.getPiecePosition();
+        final boolean isEnPassant = move instanceof PawnEnPassantAttack;
+        //a piece that shares no line with its own king cannot be pinned
+        if (!isEnPassant && !isInCheck() && !BoardUtils.isSameLine(kingTile, currentTile)) {
+            return true;
+        }
+        final int capturedTile = isEnPassant ? move.getAttackedPiece().getPiecePosition() : -1;
+        return !BoardUtils.isTileAttacked(this.board, kingTile, opponentAlliance, currentTile, capturedTile, destinationTile);
+    }
+
+    protected boolean isTileAttacked(final int tile) {
+        return BoardUtils.isTileAttacked(this.board, tile, getOpponent().getAlliance());
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> result = this.legalMoves;
+        if (result == null) {
+            final List<Move> moves = new ArrayList<>(getStandardMoves());
+            moves.addAll(calculateKingCastles());
+            result = Collections.unmodifiableCollection(moves);
+            this.legalMoves = result;
+        }
+        return result;
+    }
+
+    //piece moves without castles
+    Collection<Move> getStandardMoves() {
+        Collection<Move> result = this.standardMoves;
+        if (result == null) {
+            final List<Move> moves = new ArrayList<>();
+            for (final Piece piece : getActivePieces()) {
+                moves.addAll(piece.calculateLegalMoves(this.board));
+            }
+            result = Collections.unmodifiableCollection(moves);
+            this.standardMoves = result;
+        }
+        return result;
     }
 
-    static Collection<Move> calculateAttacksOnTile(final int tile,
-                                                   final Collection<Move> moves) {
-        return moves.stream()
-                    .filter(move -> move.getDestinationCoordinate() == tile)
-                    .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    //the capturing and promoting subset of getLegalMoves(), taken from it when it has already been built and
+    //generated on its own otherwise. not cached, a quiescence node asks for it once
+    public Collection<Move> getCaptureMoves() {
+        final Collection<Move> legalMoves = this.legalMoves;
+        final List<Move> moves = new ArrayList<>();
+        if (legalMoves != null) {
+            for (final Move move : legalMoves) {
+                if (move.isAttack() || move instanceof PawnPromotion) {
+                    moves.add(move);
+                }
+            }
+        } else {
+            for (final Piece piece : getActivePieces()) {
+                moves.addAll(piece.calculateAttackMoves(this.board));
+            }
+        }
+        return Collections.unmodifiableList(moves);
     }
 
     public MoveTransition makeMove(final Move move) {
-        if (!this.legalMoves.contains(move)) {
+        if (!getLegalMoves().contains(move)) {
             return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionedBoard = move.execute();
-        return transitionedBoard.currentPlayer().getOpponent().isInCheck() ?
-                new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK) :
-                new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        if (!isMoveLegal(move)) {
+            return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        }
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
     }
 
     public MoveTransition unMakeMove(final Move move) {
@@ -101,11 +170,11 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals,
-                                                             Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastles();
     protected boolean hasCastleOpportunities() {
-        return !this.isInCheck && !this.playerKing.isCastled() &&
-                (this.playerKing.isKingSideCastleCapable() || this.playerKing.isQueenSideCastleCapable());
+        return !this.playerKing.isCastled() &&
+                (this.playerKing.isKingSideCastleCapable() || this.playerKing.isQueenSideCastleCapable()) &&
+                !isInCheck();
     }
 
 }
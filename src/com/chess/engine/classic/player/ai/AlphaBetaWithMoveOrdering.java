@@ -6,11 +6,8 @@ import com.chess.engine.classic.board.BoardUtils;
 import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.board.MoveTransition;
 import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
 
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.List;
 import java.util.Observable;
 
 import static com.chess.engine.classic.board.Move.*;
@@ -19,43 +16,28 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
 
     private final BoardEvaluator evaluator;
     private final int searchDepth;
-    private final MoveSorter moveSorter;
+    private final MoveOrdering moveOrdering;
+    private final TranspositionTable transpositionTable;
+    private final SearchHeuristics heuristics;
     //private final int quiescenceFactor;
     private long boardsEvaluated;
     private long executionTime;
     private int quiescenceCount;
     private int cutOffsProduced;
 
-    private enum MoveSorter {
-
-        SORT {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from(SMART_SORT).immutableSortedCopy(moves);
-            }
-        };
-
-        public static Comparator<Move> SMART_SORT = new Comparator<Move>() {
-            @Override
-            public int compare(final Move move1, final Move move2) {
-                return ComparisonChain.start()
-                        .compareTrueFirst(BoardUtils.isThreatenedBoardImmediate(move1.getBoard()), BoardUtils.isThreatenedBoardImmediate(move2.getBoard()))
-                        .compareTrueFirst(move1.isAttack(), move2.isAttack())
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(move2.getMovedPiece().getPieceValue(), move1.getMovedPiece().getPieceValue())
-                        .result();
-            }
-        };
-
-        abstract Collection<Move> sort(Collection<Move> moves);
-    }
-
     public AlphaBetaWithMoveOrdering(final int searchDepth) {
                                      //final int quiescenceFactor) {
+        this(searchDepth, TranspositionTable.get());
+    }
+
+    public AlphaBetaWithMoveOrdering(final int searchDepth,
+                                     final TranspositionTable transpositionTable) {
         this.evaluator = StandardBoardEvaluator.get();
         this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
         //this.quiescenceFactor = quiescenceFactor;
-        this.moveSorter = MoveSorter.SORT;
+        this.heuristics = new SearchHeuristics(searchDepth + 1);
+        this.moveOrdering = new MoveOrdering(transpositionTable, this.heuristics);
         this.boardsEvaluated = 0;
         this.quiescenceCount = 0;
         this.cutOffsProduced = 0;
@@ -81,10 +63,13 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
         int moveCounter = 1;
-        final int numMoves = this.moveSorter.sort(board.currentPlayer().getLegalMoves()).size();
         System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
-        System.out.println("\tOrdered moves! : " + this.moveSorter.sort(board.currentPlayer().getLegalMoves()));
-        for (final Move move : this.moveSorter.sort(board.currentPlayer().getLegalMoves())) {
+        this.transpositionTable.incrementAge();
+        this.heuristics.newSearch();
+        final List<Move> orderedMoves = this.moveOrdering.orderMoves(board);
+        final int numMoves = orderedMoves.size();
+        System.out.println("\tOrdered moves! : " + orderedMoves);
+        for (final Move move : orderedMoves) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             this.quiescenceCount = 0;
             final String s;
@@ -131,18 +116,33 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
             this.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentHighest = highest;
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
+        Move bestMove = null;
+        final int ply = this.searchDepth - depth;
+        final MovePicker picker = this.heuristics.picker(ply);
+        picker.init(board.currentPlayer().getLegalMoves(), entry == 0L ? null : TranspositionTable.decodeMove(board, entry), ply);
+        Move move;
+        while ((move = picker.next()) != null) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
-                currentHighest = Math.max(currentHighest, min(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(board, move, depth), currentHighest, lowest));
+                final int currentValue = min(moveTransition.getToBoard(), calculateQuiescenceDepth(board, move, depth), currentHighest, lowest);
+                if (currentValue > currentHighest) {
+                    currentHighest = currentValue;
+                    bestMove = move;
+                }
                 if (lowest <= currentHighest) {
+                    this.heuristics.recordCutoff(ply, move, depth);
                     this.cutOffsProduced++;
                     break;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentHighest, highest, lowest),
+                currentHighest, TranspositionTable.encodeMove(bestMove));
         return currentHighest;
     }
 
@@ -154,18 +154,33 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
             this.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentLowest = lowest;
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
+        Move bestMove = null;
+        final int ply = this.searchDepth - depth;
+        final MovePicker picker = this.heuristics.picker(ply);
+        picker.init(board.currentPlayer().getLegalMoves(), entry == 0L ? null : TranspositionTable.decodeMove(board, entry), ply);
+        Move move;
+        while ((move = picker.next()) != null) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
-                currentLowest = Math.min(currentLowest, max(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(board, move, depth), highest, currentLowest));
+                final int currentValue = max(moveTransition.getToBoard(), calculateQuiescenceDepth(board, move, depth), highest, currentLowest);
+                if (currentValue < currentLowest) {
+                    currentLowest = currentValue;
+                    bestMove = move;
+                }
                 if (currentLowest <= highest) {
+                    this.heuristics.recordCutoff(ply, move, depth);
                     this.cutOffsProduced++;
                     break;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentLowest, highest, lowest),
+                currentLowest, TranspositionTable.encodeMove(bestMove));
         return currentLowest;
     }
 
@@ -0,0 +1,233 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.bitboards.BitBoardV2;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.MoveFactory;
+import com.chess.engine.classic.board.PackedMove;
+
+import java.util.Observable;
+
+//takes a classic board, but searches a BitBoardV2 copy of it: negamax alpha beta over packed moves with one move list
+//per ply allocated up front, followed by a captures only quiescence search. positions are scored by material and
+//piece location, the sum the bitboard keeps move by move, so nothing is allocated once the search is under way
+public class BitBoardAlphaBeta extends Observable implements MoveStrategy {
+
+    private static final int MAX_PLY = 128;
+    private static final int INFINITY = 1000000;
+    private static final int MATE_SCORE = 100000;
+    private static final int CAPTURE_SCORE = 1 << 20;
+    private static final int KILLER_SCORE = 1 << 16;
+    //how many times along one quiescence line a side in check gets all of its evasions searched, a line of checks
+    //answered by checks could otherwise run on to MAX_PLY
+    private static final int QUIESCENCE_EVASIONS = 4;
+    private static final int[] VICTIM_VALUES = {0, 100, 300, 330, 500, 900, 10000};
+
+    private final int searchDepth;
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+    private final int[][] killers;
+    private long boardsEvaluated;
+    private long executionTime;
+    private int cutOffsProduced;
+
+    public BitBoardAlphaBeta(final int searchDepth) {
+        if (searchDepth < 1 || searchDepth >= MAX_PLY) {
+            throw new RuntimeException("Invalid search depth " + searchDepth);
+        }
+        this.searchDepth = searchDepth;
+        this.moveBuffers = PackedMove.createMoveBuffers(MAX_PLY);
+        this.scoreBuffers = PackedMove.createMoveBuffers(MAX_PLY);
+        this.killers = new int[MAX_PLY][2];
+    }
+
+    @Override
+    public String toString() {
+        return "BitBoardAB";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final BitBoardV2 bitBoard = BitBoardV2.fromBoard(board);
+        this.boardsEvaluated = 0;
+        this.cutOffsProduced = 0;
+        for (final int[] plyKillers : this.killers) {
+            plyKillers[0] = PackedMove.NULL_MOVE;
+            plyKillers[1] = PackedMove.NULL_MOVE;
+        }
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
+        final int[] moves = this.moveBuffers[0];
+        final int moveCount = bitBoard.generateMoves(moves);
+        scoreMoves(moves, this.scoreBuffers[0], moveCount, 0);
+        int bestMove = PackedMove.NULL_MOVE;
+        int alpha = -INFINITY;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = selectMove(moves, this.scoreBuffers[0], i, moveCount);
+            if (!bitBoard.makeMove(move)) {
+                continue;
+            }
+            final int score = -search(bitBoard, this.searchDepth - 1, -INFINITY, -alpha, 1);
+            bitBoard.unmakeMove();
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+            final String s = "\t" + toString() + "(" + this.searchDepth + "), m: (" + (i + 1) + "/" + moveCount + ") " +
+                             PackedMove.toString(move) + ", score: " + score + ", best: " + PackedMove.toString(bestMove);
+            System.out.println(s);
+            setChanged();
+            notifyObservers(s);
+        }
+        final Move classicMove = bestMove == PackedMove.NULL_MOVE ? MoveFactory.getNullMove() :
+                                 PackedMove.toClassicMove(board, bestMove);
+        this.executionTime = System.currentTimeMillis() - startTime;
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d\n",
+                board.currentPlayer(), classicMove, this.boardsEvaluated, this.executionTime,
+                (1000 * ((double) this.boardsEvaluated / Math.max(1, this.executionTime))), this.cutOffsProduced);
+        return classicMove;
+    }
+
+    private int search(final BitBoardV2 board,
+                       final int depth,
+                       int alpha,
+                       final int beta,
+                       final int ply) {
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(board, alpha, beta, ply, QUIESCENCE_EVASIONS);
+        }
+        final int[] moves = this.moveBuffers[ply];
+        final int[] scores = this.scoreBuffers[ply];
+        final int moveCount = board.generateMoves(moves);
+        scoreMoves(moves, scores, moveCount, ply);
+        int legalMoves = 0;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = selectMove(moves, scores, i, moveCount);
+            if (!board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            final int score = -search(board, depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (score >= beta) {
+                if (!PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+                    storeKiller(ply, move);
+                }
+                this.cutOffsProduced++;
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        if (legalMoves == 0) {
+            //mates found closer to the root score higher
+            return board.isInCheck() ? -MATE_SCORE + ply : 0;
+        }
+        return alpha;
+    }
+
+    //captures only, the side to move may also stand pat on the material and location score instead of capturing.
+    //a side in check can't stand pat, every evasion is searched instead and a side with none is mated
+    private int quiescence(final BitBoardV2 board,
+                           int alpha,
+                           final int beta,
+                           final int ply,
+                           final int evasionsLeft) {
+        this.boardsEvaluated++;
+        final boolean isSearchingEvasions = evasionsLeft > 0 && board.isInCheck();
+        if (!isSearchingEvasions) {
+            final int standPat = board.getSideToMove() == BitBoardV2.WHITE ? board.getPieceSquareScore() : -board.getPieceSquareScore();
+            if (standPat >= beta) {
+                return beta;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+        }
+        if (ply >= MAX_PLY - 1) {
+            return alpha;
+        }
+        final int[] moves = this.moveBuffers[ply];
+        final int[] scores = this.scoreBuffers[ply];
+        final int moveCount = isSearchingEvasions ? board.generateMoves(moves) : board.generateCaptures(moves);
+        scoreMoves(moves, scores, moveCount, ply);
+        int legalMoves = 0;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = selectMove(moves, scores, i, moveCount);
+            if (!board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            final int score = -quiescence(board, -beta, -alpha, ply + 1, isSearchingEvasions ? evasionsLeft - 1 : evasionsLeft);
+            board.unmakeMove();
+            if (score >= beta) {
+                this.cutOffsProduced++;
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        if (isSearchingEvasions && legalMoves == 0) {
+            return -MATE_SCORE + ply;
+        }
+        return alpha;
+    }
+
+    //captures by victim then cheapest attacker, promotions with them, then the killers and the remaining quiet moves
+    private void scoreMoves(final int[] moves,
+                            final int[] scores,
+                            final int moveCount,
+                            final int ply) {
+        final int[] plyKillers = this.killers[ply];
+        for (int i = 0; i < moveCount; i++) {
+            final int move = moves[i];
+            if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                scores[i] = CAPTURE_SCORE + VICTIM_VALUES[PackedMove.captured(move)] * 8 +
+                            VICTIM_VALUES[PackedMove.promotion(move)] - PackedMove.piece(move);
+            } else if (move == plyKillers[0]) {
+                scores[i] = KILLER_SCORE;
+            } else if (move == plyKillers[1]) {
+                scores[i] = KILLER_SCORE - 1;
+            } else {
+                scores[i] = 0;
+            }
+        }
+    }
+
+    //swaps the best scored of the remaining moves into place, most nodes cut off after the first few
+    private static int selectMove(final int[] moves,
+                                  final int[] scores,
+                                  final int index,
+                                  final int moveCount) {
+        int best = index;
+        for (int i = index + 1; i < moveCount; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        final int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        final int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        return move;
+    }
+
+    private void storeKiller(final int ply,
+                             final int move) {
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+    }
+
+}
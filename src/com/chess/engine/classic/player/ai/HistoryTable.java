@@ -0,0 +1,59 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.pieces.Piece;
+
+//butterfly history: how often a quiet move of this piece to this tile caused a beta cutoff, weighted by the depth
+//remaining, deep cutoffs are rarer and say more
+public final class HistoryTable {
+
+    //once an entry passes this everything is halved, old games stop outweighing the current position
+    private static final int MAX_SCORE = 1 << 20;
+
+    private final int[][][] scores;
+
+    public HistoryTable() {
+        this.scores = new int[2][Piece.PieceType.values().length][BoardUtils.NUM_TILES];
+    }
+
+    public void clear() {
+        for (final int[][] allianceScores : this.scores) {
+            for (final int[] pieceScores : allianceScores) {
+                for (int i = 0; i < pieceScores.length; i++) {
+                    pieceScores[i] = 0;
+                }
+            }
+        }
+    }
+
+    public void update(final Move move,
+                       final int depth) {
+        final int[] pieceScores = pieceScores(move);
+        final int tile = move.getDestinationCoordinate();
+        pieceScores[tile] += depth * depth;
+        if (pieceScores[tile] > MAX_SCORE) {
+            age();
+        }
+    }
+
+    public int score(final Move move) {
+        return pieceScores(move)[move.getDestinationCoordinate()];
+    }
+
+    public void age() {
+        for (final int[][] allianceScores : this.scores) {
+            for (final int[] pieceScores : allianceScores) {
+                for (int i = 0; i < pieceScores.length; i++) {
+                    pieceScores[i] /= 2;
+                }
+            }
+        }
+    }
+
+    private int[] pieceScores(final Move move) {
+        final Piece movedPiece = move.getMovedPiece();
+        return this.scores[movedPiece.getPieceAllegiance().isWhite() ? 0 : 1][movedPiece.getPieceType().ordinal()];
+    }
+
+}
@@ -17,9 +17,15 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
     private final BoardEvaluator evaluator;
     private final int searchDepth;
     private final MoveSorter moveSorter;
+    private final TranspositionTable transpositionTable;
+    private final TimeControl timeControl;
     private long boardsEvaluated;
     private long executionTime;
     private int cutOffsProduced;
+    private long hardDeadline;
+    private boolean stopped;
+    //the search stops early once the best move has survived this many iterations in a row
+    private static final int STABLE_ITERATIONS = 3;
 
     private enum MoveSorter {
 
@@ -46,8 +52,27 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
     }
 
     public IterativeDeepening(final int searchDepth) {
+        this(searchDepth, TranspositionTable.get());
+    }
+
+    public IterativeDeepening(final int searchDepth,
+                              final TranspositionTable transpositionTable) {
+        this(searchDepth, transpositionTable, TimeControl.infinite());
+    }
+
+    //searchDepth becomes the deepest iteration the clock is allowed to reach
+    public IterativeDeepening(final int searchDepth,
+                              final TimeControl timeControl) {
+        this(searchDepth, TranspositionTable.get(), timeControl);
+    }
+
+    public IterativeDeepening(final int searchDepth,
+                              final TranspositionTable transpositionTable,
+                              final TimeControl timeControl) {
         this.evaluator = StandardBoardEvaluator.get();
         this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.timeControl = timeControl;
         this.moveSorter = MoveSorter.SORT;
         this.boardsEvaluated = 0;
         this.cutOffsProduced = 0;
@@ -67,7 +92,11 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
     public Move execute(final Board board) {
 
         final long startTime = System.currentTimeMillis();
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth + ", time control " + this.timeControl);
+        this.transpositionTable.incrementAge();
+        //the first iteration always runs to the end so there is a move to fall back to
+        this.hardDeadline = Long.MAX_VALUE;
+        this.stopped = false;
 
         MoveOrderingBuilder builder = new MoveOrderingBuilder();
         builder.setOrder(board.currentPlayer().getAlliance().isWhite() ? Ordering.DESC : Ordering.ASC);
@@ -76,15 +105,17 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
         }
 
         Move bestMove = MoveFactory.getNullMove();
+        Move lastCompletedBestMove = MoveFactory.getNullMove();
+        int stableIterations = 0;
         int currentDepth = 1;
 
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-
         while (currentDepth <= this.searchDepth) {
             final long subTimeStart = System.currentTimeMillis();
-            //int highestSeenValue = Integer.MIN_VALUE;
-            //int lowestSeenValue = Integer.MAX_VALUE;
+            //every iteration starts from an open window, bounds carried over from a shallower one would make every
+            //root move fail low against the old score and freeze the best move
+            int highestSeenValue = Integer.MIN_VALUE;
+            int lowestSeenValue = Integer.MAX_VALUE;
+            bestMove = MoveFactory.getNullMove();
             int currentValue;
             final List<MoveScoreRecord> records = builder.build();
             builder = new MoveOrderingBuilder();
@@ -96,6 +127,9 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
                     currentValue = board.currentPlayer().getAlliance().isWhite() ?
                             min(moveTransition.getToBoard(), currentDepth - 1, highestSeenValue, lowestSeenValue) :
                             max(moveTransition.getToBoard(), currentDepth - 1, highestSeenValue, lowestSeenValue);
+                    if (this.stopped) {
+                        break;
+                    }
                     builder.addMoveOrderingRecord(move, currentValue);
                     if (board.currentPlayer().getAlliance().isWhite() && currentValue > highestSeenValue) {
                         highestSeenValue = currentValue;
@@ -107,9 +141,24 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
                 }
             }
             final long subTime = System.currentTimeMillis()- subTimeStart;
+            if (this.stopped) {
+                //a half searched iteration has only looked at some of the moves, so its best move can't be trusted
+                bestMove = lastCompletedBestMove;
+                System.out.println("\t" +toString()+ " hard deadline hit at Depth = " +currentDepth+ " after " +subTime+
+                        " ms, falling back to " +bestMove);
+                break;
+            }
+            stableIterations = bestMove.equals(lastCompletedBestMove) ? stableIterations + 1 : 1;
+            lastCompletedBestMove = bestMove;
+            if (!this.timeControl.isInfinite()) {
+                this.hardDeadline = startTime + this.timeControl.getHardLimitMillis();
+            }
             System.out.println("\t" +toString()+ " bestMove = " +bestMove+ " Depth = " +currentDepth+ " took " +(subTime) + " ms, ordered moves : " +records);
             setChanged();
             notifyObservers(bestMove);
+            if (isSoftDeadlineReached(System.currentTimeMillis() - startTime, stableIterations)) {
+                break;
+            }
             currentDepth++;
         }
         this.executionTime = System.currentTimeMillis() - startTime;
@@ -118,6 +167,23 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
         return bestMove;
     }
 
+    //no new iteration is started past the soft limit, and a best move that keeps surviving iterations gets a third of it
+    private boolean isSoftDeadlineReached(final long elapsedMillis,
+                                          final int stableIterations) {
+        if (this.timeControl.isInfinite()) {
+            return false;
+        }
+        final long softLimit = this.timeControl.getSoftLimitMillis();
+        return elapsedMillis >= softLimit || (stableIterations >= STABLE_ITERATIONS && elapsedMillis >= softLimit / 3);
+    }
+
+    private boolean isHardDeadlineReached() {
+        if (!this.stopped && System.currentTimeMillis() >= this.hardDeadline) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
     public int max(final Board board,
                    final int depth,
                    final int highest,
@@ -126,18 +192,34 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
             this.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        if (isHardDeadlineReached()) {
+            return 0;
+        }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentHighest = highest;
+        Move bestMove = null;
         for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
-                currentHighest = Math.max(currentHighest, min(moveTransition.getToBoard(),
-                        depth - 1, currentHighest, lowest));
+                final int currentValue = min(moveTransition.getToBoard(), depth - 1, currentHighest, lowest);
+                if (this.stopped) {
+                    return 0;
+                }
+                if (currentValue > currentHighest) {
+                    currentHighest = currentValue;
+                    bestMove = move;
+                }
                 if (lowest <= currentHighest) {
                     this.cutOffsProduced++;
                     break;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentHighest, highest, lowest),
+                currentHighest, TranspositionTable.encodeMove(bestMove));
         return currentHighest;
     }
 
@@ -149,18 +231,34 @@ public class IterativeDeepening extends Observable implements MoveStrategy {
             this.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        if (isHardDeadlineReached()) {
+            return 0;
+        }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentLowest = lowest;
+        Move bestMove = null;
         for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
-                currentLowest = Math.min(currentLowest, max(moveTransition.getToBoard(),
-                        depth - 1, highest, currentLowest));
+                final int currentValue = max(moveTransition.getToBoard(), depth - 1, highest, currentLowest);
+                if (this.stopped) {
+                    return 0;
+                }
+                if (currentValue < currentLowest) {
+                    currentLowest = currentValue;
+                    bestMove = move;
+                }
                 if (currentLowest <= highest) {
                     this.cutOffsProduced++;
                     break;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentLowest, highest, lowest),
+                currentLowest, TranspositionTable.encodeMove(bestMove));
         return currentLowest;
     }
 
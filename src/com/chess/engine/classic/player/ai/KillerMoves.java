@@ -0,0 +1,66 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Move;
+
+//two quiet moves per ply that recently caused a beta cutoff. a killer found in one node is tried early in its
+//siblings, so moves are kept as from, to and piece type rather than as objects tied to one board
+public final class KillerMoves {
+
+    public static final int SLOTS = 2;
+    private static final int NO_KILLER = -1;
+
+    private final int[][] killers;
+
+    public KillerMoves(final int maxPly) {
+        this.killers = new int[maxPly][SLOTS];
+        clear();
+    }
+
+    public void clear() {
+        for (final int[] plyKillers : this.killers) {
+            for (int i = 0; i < plyKillers.length; i++) {
+                plyKillers[i] = NO_KILLER;
+            }
+        }
+    }
+
+    //the newest killer goes in the first slot and pushes the older one down
+    public void store(final int ply,
+                      final Move move) {
+        if (ply >= this.killers.length) {
+            return;
+        }
+        final int key = key(move);
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] == key) {
+            return;
+        }
+        for (int i = plyKillers.length - 1; i > 0; i--) {
+            plyKillers[i] = plyKillers[i - 1];
+        }
+        plyKillers[0] = key;
+    }
+
+    //the slot the move sits in, or -1 when it is not a killer at this ply
+    public int killerSlot(final int ply,
+                          final Move move) {
+        if (ply >= this.killers.length) {
+            return -1;
+        }
+        final int key = key(move);
+        final int[] plyKillers = this.killers[ply];
+        for (int i = 0; i < plyKillers.length; i++) {
+            if (plyKillers[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int key(final Move move) {
+        return move.getCurrentCoordinate() |
+               (move.getDestinationCoordinate() << 6) |
+               (move.getMovedPiece().getPieceType().ordinal() << 12);
+    }
+
+}
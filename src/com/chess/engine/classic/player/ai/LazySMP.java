@@ -0,0 +1,306 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.chess.engine.classic.board.Move.MoveFactory;
+
+//every thread runs its own iterative deepening on the same root, the helpers start at staggered depths and the only
+//thing they share with the main thread is the transposition table, which is where their work pays off
+public class LazySMP extends Observable implements MoveStrategy {
+
+    private final BoardEvaluator evaluator;
+    private final int searchDepth;
+    private final int numThreads;
+    private final TranspositionTable transpositionTable;
+    private final long[] timeToDepth;
+    private final long[] threadBoardsEvaluated;
+    private final SearchThread[] searchThreads;
+    private final ExecutorService helperPool;
+    private volatile boolean stopped;
+    private long boardsEvaluated;
+    private long executionTime;
+
+    public LazySMP(final int searchDepth,
+                   final int numThreads) {
+        this(searchDepth, numThreads, TranspositionTable.get());
+    }
+
+    public LazySMP(final int searchDepth,
+                   final int numThreads,
+                   final TranspositionTable transpositionTable) {
+        if (numThreads < 1) {
+            throw new RuntimeException("Invalid thread count " + numThreads);
+        }
+        this.evaluator = StandardBoardEvaluator.get();
+        this.searchDepth = searchDepth;
+        this.numThreads = numThreads;
+        this.transpositionTable = transpositionTable;
+        this.timeToDepth = new long[searchDepth + 1];
+        this.threadBoardsEvaluated = new long[numThreads];
+        //the threads and the pool outlive a single search, their move pickers and history are reused from one to the next
+        this.searchThreads = new SearchThread[numThreads];
+        for (int threadId = 0; threadId < numThreads; threadId++) {
+            this.searchThreads[threadId] = new SearchThread(threadId);
+        }
+        this.helperPool = numThreads > 1 ? Executors.newFixedThreadPool(numThreads - 1) : null;
+        this.boardsEvaluated = 0;
+        this.executionTime = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LazySMP";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    public int getNumThreads() {
+        return this.numThreads;
+    }
+
+    public long getExecutionTime() {
+        return this.executionTime;
+    }
+
+    //milliseconds from the start of the last search until the main thread completed the given depth
+    public long getTimeToDepth(final int depth) {
+        return this.timeToDepth[depth];
+    }
+
+    public long getThreadBoardsEvaluated(final int threadId) {
+        return this.threadBoardsEvaluated[threadId];
+    }
+
+    //the helper threads are only let go here, a strategy that is done with has to be shut down
+    public void shutdown() {
+        if (this.helperPool != null) {
+            this.helperPool.shutdown();
+        }
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth + " threads = " + this.numThreads);
+        this.transpositionTable.incrementAge();
+        this.stopped = false;
+        for (final SearchThread searchThread : this.searchThreads) {
+            searchThread.newSearch();
+        }
+        final List<Future<Long>> helpers = new ArrayList<>();
+        for (int threadId = 1; threadId < this.numThreads; threadId++) {
+            final SearchThread helper = this.searchThreads[threadId];
+            helpers.add(this.helperPool.submit(() -> helper.searchUntilStopped(board)));
+        }
+        final SearchThread mainThread = this.searchThreads[0];
+        final Move bestMove = mainThread.searchToDepth(board, startTime);
+        this.stopped = true;
+        this.threadBoardsEvaluated[0] = mainThread.boardsEvaluated;
+        this.boardsEvaluated = mainThread.boardsEvaluated;
+        for (int i = 0; i < helpers.size(); i++) {
+            try {
+                this.threadBoardsEvaluated[i + 1] = helpers.get(i).get();
+                this.boardsEvaluated += this.threadBoardsEvaluated[i + 1];
+            } catch (final InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        this.executionTime = System.currentTimeMillis() - startTime;
+        final String result = board.currentPlayer() + " SELECTS " +bestMove+ " [#boards evaluated = " +this.boardsEvaluated+
+                " main thread = " +this.threadBoardsEvaluated[0]+ " time taken = " +this.executionTime+ " ms]";
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, main thread = %d, time taken = %d ms, rate = %.1f, threads = %d\n",
+                board.currentPlayer(), bestMove, this.boardsEvaluated, this.threadBoardsEvaluated[0], this.executionTime,
+                (1000 * ((double)this.boardsEvaluated/this.executionTime)), this.numThreads);
+        setChanged();
+        notifyObservers(result);
+        return bestMove;
+    }
+
+    private final class SearchThread {
+
+        private final int threadId;
+        //helpers can go as deep as the table records, every ply below the root needs its own picker
+        private final SearchHeuristics heuristics;
+        private long boardsEvaluated;
+
+        SearchThread(final int threadId) {
+            this.threadId = threadId;
+            this.heuristics = new SearchHeuristics(TranspositionTable.MAX_DEPTH + 1);
+            this.boardsEvaluated = 0;
+        }
+
+        void newSearch() {
+            this.heuristics.newSearch();
+            this.boardsEvaluated = 0;
+        }
+
+        Move searchToDepth(final Board board,
+                           final long startTime) {
+            Move bestMove = MoveFactory.getNullMove();
+            for (int depth = 1; depth <= searchDepth; depth++) {
+                final long depthStartTime = System.currentTimeMillis();
+                bestMove = searchRoot(board, depth);
+                timeToDepth[depth] = System.currentTimeMillis() - startTime;
+                final String s = "\t" + LazySMP.this.toString() + " bestMove = " +bestMove+ " Depth = " +depth+
+                        " took " +(System.currentTimeMillis() - depthStartTime)+ " ms, boards = " +this.boardsEvaluated;
+                System.out.println(s);
+                setChanged();
+                notifyObservers(s);
+            }
+            return bestMove;
+        }
+
+        //odd helpers start one ply deeper than even ones so the threads spread over neighbouring depths instead of
+        //repeating each other, and they keep going past the main thread's depth until it is done
+        long searchUntilStopped(final Board board) {
+            int depth = 1 + this.threadId % 2;
+            while (!stopped && depth <= TranspositionTable.MAX_DEPTH) {
+                searchRoot(board, depth);
+                depth++;
+            }
+            return this.boardsEvaluated;
+        }
+
+        private Move searchRoot(final Board board,
+                                final int depth) {
+            final boolean isWhite = board.currentPlayer().getAlliance().isWhite();
+            int highestSeenValue = Integer.MIN_VALUE;
+            int lowestSeenValue = Integer.MAX_VALUE;
+            Move bestMove = MoveFactory.getNullMove();
+            final MovePicker picker = this.heuristics.picker(0);
+            picker.init(board.currentPlayer().getLegalMoves(), hashMove(board, transpositionTable.probe(board.getZobristKey())), 0);
+            Move move;
+            while ((move = picker.next()) != null) {
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (moveTransition.getMoveStatus().isDone()) {
+                    final int currentValue = isWhite ?
+                            min(moveTransition.getToBoard(), depth - 1, 1, highestSeenValue, lowestSeenValue) :
+                            max(moveTransition.getToBoard(), depth - 1, 1, highestSeenValue, lowestSeenValue);
+                    if (stopped) {
+                        return bestMove;
+                    }
+                    if (isWhite && currentValue > highestSeenValue) {
+                        highestSeenValue = currentValue;
+                        bestMove = move;
+                    } else if (!isWhite && currentValue < lowestSeenValue) {
+                        lowestSeenValue = currentValue;
+                        bestMove = move;
+                    }
+                }
+            }
+            if (bestMove != MoveFactory.getNullMove()) {
+                transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.EXACT,
+                        isWhite ? highestSeenValue : lowestSeenValue, TranspositionTable.encodeMove(bestMove));
+            }
+            return bestMove;
+        }
+
+        //a stopped search unwinds with a meaningless score, nothing is stored on the way out so the table stays clean
+        private int max(final Board board,
+                        final int depth,
+                        final int ply,
+                        final int highest,
+                        final int lowest) {
+            if (depth == 0 || BoardUtils.isEndGame(board)) {
+                this.boardsEvaluated++;
+                return evaluator.evaluate(board, depth);
+            }
+            if (stopped) {
+                return 0;
+            }
+            final long entry = transpositionTable.probe(board.getZobristKey());
+            if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+                return TranspositionTable.getScore(entry);
+            }
+            int currentHighest = highest;
+            Move bestMove = null;
+            final MovePicker picker = this.heuristics.picker(ply);
+            picker.init(board.currentPlayer().getLegalMoves(), hashMove(board, entry), ply);
+            Move move;
+            while ((move = picker.next()) != null) {
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (moveTransition.getMoveStatus().isDone()) {
+                    final int currentValue = min(moveTransition.getToBoard(), depth - 1, ply + 1, currentHighest, lowest);
+                    if (stopped) {
+                        return 0;
+                    }
+                    if (currentValue > currentHighest) {
+                        currentHighest = currentValue;
+                        bestMove = move;
+                    }
+                    if (lowest <= currentHighest) {
+                        this.heuristics.recordCutoff(ply, move, depth);
+                        break;
+                    }
+                }
+            }
+            transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentHighest, highest, lowest),
+                    currentHighest, TranspositionTable.encodeMove(bestMove));
+            return currentHighest;
+        }
+
+        private int min(final Board board,
+                        final int depth,
+                        final int ply,
+                        final int highest,
+                        final int lowest) {
+            if (depth == 0 || BoardUtils.isEndGame(board)) {
+                this.boardsEvaluated++;
+                return evaluator.evaluate(board, depth);
+            }
+            if (stopped) {
+                return 0;
+            }
+            final long entry = transpositionTable.probe(board.getZobristKey());
+            if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+                return TranspositionTable.getScore(entry);
+            }
+            int currentLowest = lowest;
+            Move bestMove = null;
+            final MovePicker picker = this.heuristics.picker(ply);
+            picker.init(board.currentPlayer().getLegalMoves(), hashMove(board, entry), ply);
+            Move move;
+            while ((move = picker.next()) != null) {
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (moveTransition.getMoveStatus().isDone()) {
+                    final int currentValue = max(moveTransition.getToBoard(), depth - 1, ply + 1, highest, currentLowest);
+                    if (stopped) {
+                        return 0;
+                    }
+                    if (currentValue < currentLowest) {
+                        currentLowest = currentValue;
+                        bestMove = move;
+                    }
+                    if (currentLowest <= highest) {
+                        this.heuristics.recordCutoff(ply, move, depth);
+                        break;
+                    }
+                }
+            }
+            transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.calculateBound(currentLowest, highest, lowest),
+                    currentLowest, TranspositionTable.encodeMove(bestMove));
+            return currentLowest;
+        }
+
+        //the table move goes first, it is usually the best move another thread has already found here
+        private Move hashMove(final Board board,
+                              final long entry) {
+            return entry == 0L ? null : TranspositionTable.decodeMove(board, entry);
+        }
+    }
+
+}
@@ -13,15 +13,22 @@ public final class MiniMax implements MoveStrategy {
 
     private final BoardEvaluator evaluator;
     private final int searchDepth;
+    private final TranspositionTable transpositionTable;
     private long boardsEvaluated;
     private long executionTime;
     private FreqTableRow[] freqTable;
     private int freqTableIndex;
 
     public MiniMax(final int searchDepth) {
+        this(searchDepth, TranspositionTable.get());
+    }
+
+    public MiniMax(final int searchDepth,
+                   final TranspositionTable transpositionTable) {
         this.evaluator = StandardBoardEvaluator.get();
         this.boardsEvaluated = 0;
         this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
     }
 
     @Override
@@ -41,6 +48,7 @@ public final class MiniMax implements MoveStrategy {
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
         System.out.println(board.currentPlayer() + " THINKING with depth = " +this.searchDepth);
+        this.transpositionTable.incrementAge();
         this.freqTable = new FreqTableRow[board.currentPlayer().getLegalMoves().size()];
         this.freqTableIndex = 0;
         int moveCounter = 1;
@@ -96,16 +104,24 @@ public final class MiniMax implements MoveStrategy {
         if(isEndGameScenario(board)) {
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return TranspositionTable.getScore(entry);
+        }
         int lowestSeenValue = Integer.MAX_VALUE;
+        Move bestMove = null;
         for (final Move move : board.currentPlayer().getLegalMoves()) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
                 final int currentValue = max(moveTransition.getToBoard(), depth - 1);
                 if (currentValue <= lowestSeenValue) {
                     lowestSeenValue = currentValue;
+                    bestMove = move;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.EXACT, lowestSeenValue,
+                TranspositionTable.encodeMove(bestMove));
         return lowestSeenValue;
     }
 
@@ -119,16 +135,24 @@ public final class MiniMax implements MoveStrategy {
         if(isEndGameScenario(board)) {
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return TranspositionTable.getScore(entry);
+        }
         int highestSeenValue = Integer.MIN_VALUE;
+        Move bestMove = null;
         for (final Move move : board.currentPlayer().getLegalMoves()) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
                 final int currentValue = min(moveTransition.getToBoard(), depth - 1);
                 if (currentValue >= highestSeenValue) {
                     highestSeenValue = currentValue;
+                    bestMove = move;
                 }
             }
         }
+        this.transpositionTable.store(board.getZobristKey(), depth, TranspositionTable.EXACT, highestSeenValue,
+                TranspositionTable.encodeMove(bestMove));
         return highestSeenValue;
     }
 
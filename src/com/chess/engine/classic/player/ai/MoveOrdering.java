@@ -3,20 +3,26 @@ package com.chess.engine.classic.player.ai;
 
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.MoveTransition;
 import com.chess.engine.classic.player.Player;
 
 import java.util.*;
 
+//orders moves by score instead of searching them: the table move first, then captures that hold up under static
+//exchange, then killers, castles and quiet moves by history, and losing captures last. nothing is played out except
+//the legality check, so ordering costs about as much as generating the moves
 public final class MoveOrdering {
 
-    private final BoardEvaluator evaluator;
+    private static final MoveOrdering INSTANCE = new MoveOrdering(TranspositionTable.get(),
+            new SearchHeuristics(1));
 
-    private static final MoveOrdering INSTANCE = new MoveOrdering();
-    private static final int ORDER_SEARCH_DEPTH = 2;
+    private final TranspositionTable transpositionTable;
+    private final SearchHeuristics heuristics;
 
-    private MoveOrdering() {
-        this.evaluator = StandardBoardEvaluator.get();
+    //a search that wants its killers and history used at the root hands its own tables in
+    MoveOrdering(final TranspositionTable transpositionTable,
+                 final SearchHeuristics heuristics) {
+        this.transpositionTable = transpositionTable;
+        this.heuristics = heuristics;
     }
 
     public static MoveOrdering get() {
@@ -24,112 +30,29 @@ public final class MoveOrdering {
     }
 
     public List<Move> orderMoves(final Board board) {
-        return orderImpl(board, ORDER_SEARCH_DEPTH);
-    }
-
-    private static class MoveOrderEntry {
-        final Move move;
-        final int score;
-
-        MoveOrderEntry(final Move move,
-                       final int score) {
-            this.move = move;
-            this.score = score;
-        }
-
-        final Move getMove() {
-            return this.move;
-        }
-
-        final int getScore() {
-            return this.score;
-        }
-
-        @Override
-        public String toString() {
-            return "move = " +this.move+ " score = " +this.score;
-        }
-    }
-
-    private List<Move> orderImpl(final Board board,
-                                 final int depth) {
-        final List<MoveOrderEntry> moveOrderEntries = new ArrayList<>();
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int attackBonus = calculateAttackBonus(board.currentPlayer(), move);
-                final int currentValue = attackBonus + (board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), depth - 1) :
-                        max(moveTransition.getToBoard(), depth - 1));
-                moveOrderEntries.add(new MoveOrderEntry(move, currentValue));
+        return orderMoves(board, 0);
+    }
+
+    //the legal moves best first, a fresh picker keeps this safe to call in the middle of a search at the same ply
+    List<Move> orderMoves(final Board board,
+                          final int ply) {
+        final Player currentPlayer = board.currentPlayer();
+        final Collection<Move> legalMoves = currentPlayer.getLegalMoves();
+        final MovePicker picker = new MovePicker(this.heuristics.getKillerMoves(), this.heuristics.getHistoryTable());
+        picker.init(legalMoves, hashMove(board), ply);
+        final List<Move> orderedMoves = new ArrayList<>(legalMoves.size());
+        Move move;
+        while ((move = picker.next()) != null) {
+            if (currentPlayer.isMoveLegal(move)) {
+                orderedMoves.add(move);
             }
         }
-        Collections.sort(moveOrderEntries, new Comparator<MoveOrderEntry>() {
-            @Override
-            public int compare(final MoveOrderEntry o1, final MoveOrderEntry o2) {
-                return Integer.compare(o2.getScore(), o1.getScore());
-            }
-        });
-        final List<Move> orderedMoves = new ArrayList<>();
-        for(final MoveOrderEntry entry : moveOrderEntries) {
-            orderedMoves.add(entry.getMove());
-        }
-
         return Collections.unmodifiableList(orderedMoves);
     }
 
-    private int calculateAttackBonus(final Player player,
-                                     final Move move) {
-        final int attackBonus = move.isAttack() ? 1000 : 0;
-        return attackBonus * (player.getAlliance().isWhite() ? 1 : -1);
-    }
-
-    private static Collection<Move> calculateSimpleMoveOrder(final Collection<Move> moves) {
-        final List<Move> sortedMoves = new ArrayList<>();
-        sortedMoves.addAll(moves);
-        Collections.sort(sortedMoves, (m1, m2) -> Boolean.compare(m2.isAttack(), m1.isAttack()));
-        return sortedMoves;
-    }
-
-    public int min(final Board board,
-                   final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
-        }
-        int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getToBoard(), depth - 1);
-                if (currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                }
-            }
-        }
-        return lowestSeenValue;
-    }
-
-    public int max(final Board board,
-                   final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
-        }
-        int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getToBoard(), depth - 1);
-                if (currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                }
-            }
-        }
-        return highestSeenValue;
-    }
-
-    private static boolean isEndGameScenario(final Board board) {
-        return  board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
+    private Move hashMove(final Board board) {
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        return entry == 0L ? null : TranspositionTable.decodeMove(board, entry);
     }
 
 }
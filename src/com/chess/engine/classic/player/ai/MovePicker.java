@@ -0,0 +1,182 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.PawnPromotion;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.chess.engine.classic.board.BoardUtils.mvvlva;
+
+//hands out the moves of one node best first without sorting them. the hash move comes out before anything is scored,
+//captures are only scored by static exchange once the hash move failed to cut off, and quiet moves only once the
+//winning captures are used up, so a node that cuts off early never pays for the rest. one picker is kept per ply and
+//its buffers are reused from node to node
+public final class MovePicker {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int KILLER_SCORE = 1 << 28;
+    private static final int CASTLE_SCORE = 1 << 27;
+
+    private enum Stage {
+        HASH_MOVE,
+        SCORE_CAPTURES,
+        GOOD_CAPTURES,
+        QUIET_MOVES,
+        BAD_CAPTURES,
+        DONE
+    }
+
+    private final KillerMoves killerMoves;
+    private final HistoryTable historyTable;
+    private Move[] moves;
+    private int[] scores;
+    private Move hashMove;
+    private int ply;
+    private int numCaptures;
+    private int numMoves;
+    private int current;
+    private Stage stage;
+
+    MovePicker(final KillerMoves killerMoves,
+               final HistoryTable historyTable) {
+        this.killerMoves = killerMoves;
+        this.historyTable = historyTable;
+        this.moves = new Move[INITIAL_CAPACITY];
+        this.scores = new int[INITIAL_CAPACITY];
+        this.stage = Stage.DONE;
+    }
+
+    //captures and promotions are kept at the front of the buffer and quiet moves behind them. the hash move is left
+    //out of both, it is handed out on its own
+    public void init(final Collection<Move> legalMoves,
+                     final Move hashMove,
+                     final int ply) {
+        if (legalMoves.size() > this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, legalMoves.size());
+            this.scores = Arrays.copyOf(this.scores, legalMoves.size());
+        }
+        this.hashMove = null;
+        this.ply = ply;
+        this.numCaptures = 0;
+        this.numMoves = 0;
+        for (final Move move : legalMoves) {
+            if (hashMove != null && this.hashMove == null && move.equals(hashMove)) {
+                this.hashMove = move;
+            } else if (isTactical(move)) {
+                this.moves[this.numMoves++] = this.moves[this.numCaptures];
+                this.moves[this.numCaptures++] = move;
+            } else {
+                this.moves[this.numMoves++] = move;
+            }
+        }
+        this.current = 0;
+        this.stage = Stage.HASH_MOVE;
+    }
+
+    //the next move to search, null once the node is exhausted
+    public Move next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.SCORE_CAPTURES;
+                    if (this.hashMove != null) {
+                        return this.hashMove;
+                    }
+                    break;
+                case SCORE_CAPTURES:
+                    this.stage = Stage.GOOD_CAPTURES;
+                    scoreCaptures();
+                    break;
+                case GOOD_CAPTURES:
+                    if (this.current < this.numCaptures && this.scores[selectBest(this.numCaptures)] >= 0) {
+                        return this.moves[this.current++];
+                    }
+                    this.stage = Stage.QUIET_MOVES;
+                    scoreQuietMoves();
+                    break;
+                case QUIET_MOVES:
+                    if (this.current < this.numMoves) {
+                        selectBest(this.numMoves);
+                        return this.moves[this.current++];
+                    }
+                    this.stage = Stage.BAD_CAPTURES;
+                    this.current = 0;
+                    break;
+                case BAD_CAPTURES:
+                    while (this.current < this.numCaptures) {
+                        final int index = this.current++;
+                        if (this.scores[index] < 0) {
+                            return this.moves[index];
+                        }
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    //captures and promotions are the moves the history and killer tables never see
+    static boolean isTactical(final Move move) {
+        return move.isAttack() || move instanceof PawnPromotion;
+    }
+
+    private void scoreCaptures() {
+        for (int i = 0; i < this.numCaptures; i++) {
+            final int exchange = BoardUtils.see(this.moves[i]);
+            this.scores[i] = exchange >= 0 ? exchange * 16 + mvvlva(this.moves[i]) / 100 : exchange;
+        }
+    }
+
+    //the good captures already went out, whatever is left in front of the quiet moves is a losing capture and waits
+    //there in its scored order for the last stage
+    private void scoreQuietMoves() {
+        sortBadCaptures();
+        for (int i = this.numCaptures; i < this.numMoves; i++) {
+            final Move move = this.moves[i];
+            final int killerSlot = this.killerMoves.killerSlot(this.ply, move);
+            if (killerSlot >= 0) {
+                this.scores[i] = KILLER_SCORE - killerSlot;
+            } else if (move.isCastlingMove()) {
+                this.scores[i] = CASTLE_SCORE;
+            } else {
+                this.scores[i] = this.historyTable.score(move);
+            }
+        }
+        this.current = this.numCaptures;
+    }
+
+    private void sortBadCaptures() {
+        for (int i = this.current; i < this.numCaptures; i++) {
+            selectBest(i, this.numCaptures);
+        }
+    }
+
+    private int selectBest(final int end) {
+        return selectBest(this.current, end);
+    }
+
+    //swaps the highest scored move between from and end into from, the first of equal scores wins
+    private int selectBest(final int from,
+                           final int end) {
+        int best = from;
+        for (int i = from + 1; i < end; i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        if (best != from) {
+            final Move move = this.moves[best];
+            final int score = this.scores[best];
+            this.moves[best] = this.moves[from];
+            this.scores[best] = this.scores[from];
+            this.moves[from] = move;
+            this.scores[from] = score;
+        }
+        return from;
+    }
+
+}
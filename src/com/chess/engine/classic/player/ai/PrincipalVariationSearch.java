@@ -0,0 +1,375 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.player.Player;
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Ordering;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Observable;
+import java.util.Set;
+
+import static com.chess.engine.classic.board.BoardUtils.mvvlva;
+import static com.chess.engine.classic.board.Move.MoveFactory;
+
+//negamax with a full window for the first move of every node and null windows for the rest, a null window search
+//that fails high is searched again with the real window. scores are from the side to move's point of view
+public class PrincipalVariationSearch extends Observable implements MoveStrategy {
+
+    //forward pruning gives up on moves before they are searched to full depth, none of it is applied at the root or
+    //inside the principal variation. each one can be switched on alone to measure what it saves
+    public enum Pruning {
+        //let the opponent move twice, if the position still beats beta a real move will too. passing is only
+        //assumed to be worse than moving when the side to move has more than king and pawns, zugzwang is common
+        //in pawn endings
+        NULL_MOVE,
+        //quiet moves that come late in the ordering are searched shallower first and only searched again at full
+        //depth when they beat alpha
+        LATE_MOVE_REDUCTIONS,
+        //one or two plies from the horizon, quiet moves are skipped when the static score plus a margin can't
+        //reach alpha
+        FUTILITY
+    }
+
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_INDEX = 4;
+    private static final int VERY_LATE_MOVE_INDEX = 12;
+    private static final int[] FUTILITY_MARGINS = {0, 200, 500};
+
+    private final BoardEvaluator evaluator;
+    private final int searchDepth;
+    private final TranspositionTable transpositionTable;
+    private final Set<Pruning> pruning;
+    private final SearchHeuristics heuristics;
+    private long boardsEvaluated;
+    private long executionTime;
+    private int cutOffsProduced;
+    private int researches;
+    private int aspirationFailures;
+    private int nullMoveCutoffs;
+    private int reductions;
+    private int reductionResearches;
+    private int futilityPruned;
+
+    public PrincipalVariationSearch(final int searchDepth) {
+        this(searchDepth, TranspositionTable.get());
+    }
+
+    public PrincipalVariationSearch(final int searchDepth,
+                                    final TranspositionTable transpositionTable) {
+        this(searchDepth, transpositionTable, EnumSet.noneOf(Pruning.class));
+    }
+
+    public PrincipalVariationSearch(final int searchDepth,
+                                    final TranspositionTable transpositionTable,
+                                    final Set<Pruning> pruning) {
+        this.evaluator = StandardBoardEvaluator.get();
+        this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.pruning = pruning.isEmpty() ? EnumSet.noneOf(Pruning.class) : EnumSet.copyOf(pruning);
+        this.heuristics = new SearchHeuristics(TranspositionTable.MAX_DEPTH + 1);
+        this.boardsEvaluated = 0;
+        this.cutOffsProduced = 0;
+        this.researches = 0;
+        this.aspirationFailures = 0;
+        this.nullMoveCutoffs = 0;
+        this.reductions = 0;
+        this.reductionResearches = 0;
+        this.futilityPruned = 0;
+    }
+
+    @Override
+    public String toString() {
+        return this.pruning.isEmpty() ? "PVS" : "PVS" + this.pruning;
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    public long getExecutionTime() {
+        return this.executionTime;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
+        this.transpositionTable.incrementAge();
+        this.heuristics.newSearch();
+        final int color = board.currentPlayer().getAlliance().isWhite() ? 1 : -1;
+        Move bestMove = MoveFactory.getNullMove();
+        int score = 0;
+        for (int depth = 1; depth <= this.searchDepth; depth++) {
+            final long subTimeStart = System.currentTimeMillis();
+            //the first iteration has nothing to aim at, later ones bet on landing near the previous score and
+            //widen the side that failed until the score falls inside
+            int window = ASPIRATION_WINDOW;
+            int alpha = depth == 1 ? -INFINITY : Math.max(-INFINITY, score - window);
+            int beta = depth == 1 ? INFINITY : Math.min(INFINITY, score + window);
+            while (true) {
+                final RootResult result = searchRoot(board, depth, alpha, beta, color, bestMove);
+                score = result.score;
+                if (score <= alpha && alpha > -INFINITY) {
+                    this.aspirationFailures++;
+                    window *= 4;
+                    alpha = Math.max(-INFINITY, score - window);
+                } else if (score >= beta && beta < INFINITY) {
+                    this.aspirationFailures++;
+                    window *= 4;
+                    beta = Math.min(INFINITY, score + window);
+                } else {
+                    bestMove = result.move;
+                    break;
+                }
+            }
+            final String s = "\t" + toString() + " bestMove = " + bestMove + " Depth = " + depth + " score = " + (color * score) +
+                    " took " + (System.currentTimeMillis() - subTimeStart) + " ms";
+            System.out.println(s);
+            setChanged();
+            notifyObservers(s);
+        }
+        this.executionTime = System.currentTimeMillis() - startTime;
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d researches = %d aspiration failures = %d\n",
+                board.currentPlayer(), bestMove, this.boardsEvaluated, this.executionTime, (1000 * ((double)this.boardsEvaluated/this.executionTime)),
+                this.cutOffsProduced, this.researches, this.aspirationFailures);
+        if (!this.pruning.isEmpty()) {
+            System.out.printf("\tnull move cutoffs = %d reductions = %d reduction researches = %d futility pruned = %d\n",
+                    this.nullMoveCutoffs, this.reductions, this.reductionResearches, this.futilityPruned);
+        }
+        return bestMove;
+    }
+
+    private RootResult searchRoot(final Board board,
+                                  final int depth,
+                                  final int alpha,
+                                  final int beta,
+                                  final int color,
+                                  final Move previousBestMove) {
+        int currentAlpha = alpha;
+        int bestScore = -INFINITY;
+        Move bestMove = MoveFactory.getNullMove();
+        boolean isFirstMove = true;
+        for (final Move move : sort(board, previousBestMove)) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                continue;
+            }
+            final int score = searchChild(moveTransition.getToBoard(), depth - 1, 0, currentAlpha, beta, color, 1, isFirstMove);
+            isFirstMove = false;
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > currentAlpha) {
+                currentAlpha = score;
+            }
+            if (currentAlpha >= beta) {
+                break;
+            }
+        }
+        storeEntry(board, depth, bestScore, alpha, beta, color, bestMove);
+        return new RootResult(bestMove, bestScore);
+    }
+
+    private int pvs(final Board board,
+                    final int depth,
+                    final int alpha,
+                    final int beta,
+                    final int color,
+                    final int ply,
+                    final boolean isNullMoveAllowed) {
+        if (depth == 0 || BoardUtils.isEndGame(board)) {
+            this.boardsEvaluated++;
+            return color * this.evaluator.evaluate(board, depth);
+        }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (entry != 0L && TranspositionTable.getDepth(entry) >= depth &&
+            !TranspositionTable.isMateScore(TranspositionTable.getScore(entry))) {
+            final int score = color * TranspositionTable.getScore(entry);
+            final int bound = toSideToMoveBound(TranspositionTable.getBound(entry), color);
+            if (bound == TranspositionTable.EXACT ||
+               (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+               (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+        }
+        final boolean isInCheck = board.currentPlayer().isInCheck();
+        final boolean isPvNode = beta - alpha > 1;
+        final boolean canPrune = !isPvNode && !isInCheck && !TranspositionTable.isMateScore(alpha) && !TranspositionTable.isMateScore(beta);
+        int staticScore = -INFINITY;
+        if (canPrune && isNullMoveAllowed && depth >= NULL_MOVE_MIN_DEPTH && this.pruning.contains(Pruning.NULL_MOVE) &&
+            hasPiecesOtherThanPawns(board.currentPlayer())) {
+            staticScore = staticScore(board, color);
+            if (staticScore >= beta) {
+                final int reduction = depth > 6 ? 3 : 2;
+                //two passes in a row prove nothing, the reply to a pass has to be a real move
+                final int score = -pvs(BoardUtils.passTurn(board), Math.max(0, depth - 1 - reduction), -beta, -beta + 1,
+                        -color, ply + 1, false);
+                if (score >= beta) {
+                    this.nullMoveCutoffs++;
+                    return beta;
+                }
+            }
+        }
+        boolean isFutile = false;
+        if (canPrune && depth < FUTILITY_MARGINS.length && this.pruning.contains(Pruning.FUTILITY)) {
+            if (staticScore == -INFINITY) {
+                staticScore = staticScore(board, color);
+            }
+            isFutile = staticScore + FUTILITY_MARGINS[depth] <= alpha;
+        }
+        int currentAlpha = alpha;
+        int bestScore = -INFINITY;
+        Move bestMove = null;
+        int moveIndex = 0;
+        final MovePicker picker = this.heuristics.picker(ply);
+        picker.init(board.currentPlayer().getLegalMoves(), entry == 0L ? null : TranspositionTable.decodeMove(board, entry), ply);
+        Move move;
+        while ((move = picker.next()) != null) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                continue;
+            }
+            final Board toBoard = moveTransition.getToBoard();
+            final boolean isQuiet = !MovePicker.isTactical(move) && !toBoard.currentPlayer().isInCheck();
+            moveIndex++;
+            if (isFutile && isQuiet && moveIndex > 1) {
+                //a skipped move is assumed to score what the margin allowed it, which is still no better than alpha
+                this.futilityPruned++;
+                bestScore = Math.max(bestScore, staticScore + FUTILITY_MARGINS[depth]);
+                continue;
+            }
+            final int reduction = calculateReduction(depth, ply, move, moveIndex, isQuiet, canPrune);
+            final int score = searchChild(toBoard, depth - 1, reduction, currentAlpha, beta, color, ply + 1, moveIndex == 1);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > currentAlpha) {
+                currentAlpha = score;
+            }
+            if (currentAlpha >= beta) {
+                this.cutOffsProduced++;
+                this.heuristics.recordCutoff(ply, move, depth);
+                break;
+            }
+        }
+        storeEntry(board, depth, bestScore, alpha, beta, color, bestMove);
+        return bestScore;
+    }
+
+    //killers are left alone, they already cut off at this ply once
+    private int calculateReduction(final int depth,
+                                   final int ply,
+                                   final Move move,
+                                   final int moveIndex,
+                                   final boolean isQuiet,
+                                   final boolean canPrune) {
+        if (!canPrune || !isQuiet || depth < LATE_MOVE_MIN_DEPTH || moveIndex <= LATE_MOVE_INDEX ||
+            !this.pruning.contains(Pruning.LATE_MOVE_REDUCTIONS) ||
+            this.heuristics.getKillerMoves().killerSlot(ply, move) >= 0) {
+            return 0;
+        }
+        return moveIndex > VERY_LATE_MOVE_INDEX && depth > LATE_MOVE_MIN_DEPTH ? 2 : 1;
+    }
+
+    //only the first move is expected to be inside the window, the others just have to be proven worse. a reduced
+    //move that beats alpha is tried again at full depth before it is allowed into the window
+    private int searchChild(final Board toBoard,
+                            final int depth,
+                            final int reduction,
+                            final int alpha,
+                            final int beta,
+                            final int color,
+                            final int ply,
+                            final boolean isFirstMove) {
+        if (isFirstMove) {
+            return -pvs(toBoard, depth, -beta, -alpha, -color, ply, true);
+        }
+        int score;
+        if (reduction > 0) {
+            this.reductions++;
+            score = -pvs(toBoard, depth - reduction, -alpha - 1, -alpha, -color, ply, true);
+            if (score <= alpha) {
+                return score;
+            }
+            this.reductionResearches++;
+        }
+        score = -pvs(toBoard, depth, -alpha - 1, -alpha, -color, ply, true);
+        if (score > alpha && score < beta) {
+            this.researches++;
+            return -pvs(toBoard, depth, -beta, -alpha, -color, ply, true);
+        }
+        return score;
+    }
+
+    private int staticScore(final Board board,
+                            final int color) {
+        this.boardsEvaluated++;
+        return color * this.evaluator.evaluate(board, 0);
+    }
+
+    private static boolean hasPiecesOtherThanPawns(final Player player) {
+        for (final Piece piece : player.getActivePieces()) {
+            if (piece.getPieceType() != Piece.PieceType.PAWN && piece.getPieceType() != Piece.PieceType.KING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //the table is shared with the min/max strategies, so entries are kept from white's point of view
+    private void storeEntry(final Board board,
+                            final int depth,
+                            final int score,
+                            final int alpha,
+                            final int beta,
+                            final int color,
+                            final Move bestMove) {
+        final int bound = TranspositionTable.calculateBound(score, alpha, beta);
+        this.transpositionTable.store(board.getZobristKey(), depth, toSideToMoveBound(bound, color), color * score,
+                TranspositionTable.encodeMove(bestMove));
+    }
+
+    //a lower bound for black is an upper bound for white and the other way around, the mapping is its own inverse
+    private static int toSideToMoveBound(final int bound,
+                                         final int color) {
+        if (color > 0 || bound == TranspositionTable.EXACT) {
+            return bound;
+        }
+        return bound == TranspositionTable.LOWER_BOUND ? TranspositionTable.UPPER_BOUND : TranspositionTable.LOWER_BOUND;
+    }
+
+    private static Collection<Move> sort(final Board board,
+                                         final Move hashMove) {
+        return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
+                .compareTrueFirst(move1.equals(hashMove), move2.equals(hashMove))
+                .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
+                .compare(mvvlva(move2), mvvlva(move1))
+                .result()).immutableSortedCopy(board.currentPlayer().getLegalMoves());
+    }
+
+    private static final class RootResult {
+
+        final Move move;
+        final int score;
+
+        RootResult(final Move move,
+                   final int score) {
+            this.move = move;
+            this.score = score;
+        }
+    }
+
+}
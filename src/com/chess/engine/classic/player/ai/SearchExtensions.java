@@ -0,0 +1,96 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.PawnPromotion;
+import com.chess.engine.classic.player.Player;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+//decides which moves are searched one ply deeper than the nominal depth. a move is extended at most one ply however
+//many reasons it has, and no line is extended more than the budget allows, so a long run of checks can't blow up
+//the tree
+public final class SearchExtensions {
+
+    public enum Extension {
+        //the move gives check, the reply is forced and the line usually settles quickly
+        CHECK,
+        //the side to move is in check with a single way out, searching it costs almost nothing
+        ONE_REPLY,
+        //a pawn promotes, the new piece changes the material balance by hundreds
+        PROMOTION
+    }
+
+    private static final SearchExtensions NONE = new SearchExtensions(EnumSet.noneOf(Extension.class), 0);
+
+    private final Set<Extension> extensions;
+    private final int maxExtensionsPerPath;
+
+    public SearchExtensions(final Set<Extension> extensions,
+                            final int maxExtensionsPerPath) {
+        if (maxExtensionsPerPath < 0) {
+            throw new RuntimeException("Invalid extension budget " + maxExtensionsPerPath);
+        }
+        this.extensions = extensions.isEmpty() ? EnumSet.noneOf(Extension.class) : EnumSet.copyOf(extensions);
+        this.maxExtensionsPerPath = maxExtensionsPerPath;
+    }
+
+    public static SearchExtensions none() {
+        return NONE;
+    }
+
+    //every extension, with a budget of half the nominal depth but at least one ply
+    public static SearchExtensions all(final int searchDepth) {
+        return new SearchExtensions(EnumSet.allOf(Extension.class), Math.max(1, searchDepth / 2));
+    }
+
+    public int getMaxExtensionsPerPath() {
+        return this.maxExtensionsPerPath;
+    }
+
+    public boolean isEnabled() {
+        return !this.extensions.isEmpty() && this.maxExtensionsPerPath > 0;
+    }
+
+    //asked once per node before its moves are searched
+    boolean isSingleReply(final Board board,
+                          final int extensionsUsed) {
+        if (extensionsUsed >= this.maxExtensionsPerPath || !this.extensions.contains(Extension.ONE_REPLY)) {
+            return false;
+        }
+        final Player currentPlayer = board.currentPlayer();
+        if (!currentPlayer.isInCheck()) {
+            return false;
+        }
+        int numReplies = 0;
+        for (final Move move : currentPlayer.getLegalMoves()) {
+            if (currentPlayer.isMoveLegal(move) && ++numReplies > 1) {
+                return false;
+            }
+        }
+        return numReplies == 1;
+    }
+
+    //one ply or none for a move already played out to toBoard
+    int extension(final Move move,
+                  final Board toBoard,
+                  final boolean isSingleReply,
+                  final int extensionsUsed) {
+        if (extensionsUsed >= this.maxExtensionsPerPath) {
+            return 0;
+        }
+        if (isSingleReply ||
+           (this.extensions.contains(Extension.PROMOTION) && move instanceof PawnPromotion) ||
+           (this.extensions.contains(Extension.CHECK) && toBoard.currentPlayer().isInCheck())) {
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return this.extensions + " budget = " + this.maxExtensionsPerPath;
+    }
+
+}
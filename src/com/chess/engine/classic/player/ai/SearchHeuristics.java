@@ -0,0 +1,51 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Move;
+
+//the killer slots, the history table and one move picker per ply for a single search thread. nothing in here is
+//thread safe, a parallel search gives every task its own
+final class SearchHeuristics {
+
+    private final KillerMoves killerMoves;
+    private final HistoryTable historyTable;
+    private final MovePicker[] pickers;
+
+    SearchHeuristics(final int maxPly) {
+        this.killerMoves = new KillerMoves(maxPly);
+        this.historyTable = new HistoryTable();
+        this.pickers = new MovePicker[maxPly];
+        for (int i = 0; i < maxPly; i++) {
+            this.pickers[i] = new MovePicker(this.killerMoves, this.historyTable);
+        }
+    }
+
+    KillerMoves getKillerMoves() {
+        return this.killerMoves;
+    }
+
+    HistoryTable getHistoryTable() {
+        return this.historyTable;
+    }
+
+    MovePicker picker(final int ply) {
+        return this.pickers[ply];
+    }
+
+    //killers belong to the position being searched, the history is only aged so what it learned carries over
+    void newSearch() {
+        this.killerMoves.clear();
+        this.historyTable.age();
+    }
+
+    //only quiet moves are remembered, captures are already ordered well by static exchange
+    void recordCutoff(final int ply,
+                      final Move move,
+                      final int depth) {
+        if (MovePicker.isTactical(move)) {
+            return;
+        }
+        this.killerMoves.store(ply, move);
+        this.historyTable.update(move, depth);
+    }
+
+}
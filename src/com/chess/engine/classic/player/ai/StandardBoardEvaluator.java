@@ -1,13 +1,16 @@
 package com.chess.engine.classic.player.ai;
 
 import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
 import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.pieces.Piece;
 import com.chess.engine.classic.player.Player;
 import com.chess.engine.classic.player.ai.KingSafetyAnalyzer.KingDistance;
-import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Collection;
 
 import static com.chess.engine.classic.pieces.Piece.PieceType.BISHOP;
+import static com.chess.engine.classic.pieces.Piece.PieceType.PAWN;
 
 public final class StandardBoardEvaluator
         implements BoardEvaluator {
@@ -18,6 +21,8 @@ public final class StandardBoardEvaluator
     private final static int MOBILITY_MULTIPLIER = 5;
     private final static int ATTACK_MULTIPLIER = 1;
     private final static int TWO_BISHOPS_BONUS = 25;
+    private final static int FILE_BITS = 4;
+    private final static int FILE_MASK = (1 << FILE_BITS) - 1;
     private static final StandardBoardEvaluator INSTANCE = new StandardBoardEvaluator();
 
     private StandardBoardEvaluator() {
@@ -27,10 +32,53 @@ public final class StandardBoardEvaluator
         return INSTANCE;
     }
 
+    //material and location bonus come with the board, kept up to date move by move. the rest of the features of
+    //both sides are collected in one walk over the tiles and one walk over each side's moves, into locals only. the
+    //pawn files of a side are packed four bits a file into an int
     @Override
     public int evaluate(final Board board,
                         final int depth) {
-        return score(board.whitePlayer(), depth) - score(board.blackPlayer(), depth);
+        final Player whitePlayer = board.whitePlayer();
+        final Player blackPlayer = board.blackPlayer();
+        int whiteBishops = 0;
+        int blackBishops = 0;
+        int whitePawnFiles = 0;
+        int blackPawnFiles = 0;
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            final Piece piece = board.getPiece(tile);
+            if (piece == null) {
+                continue;
+            }
+            final Piece.PieceType pieceType = piece.getPieceType();
+            if (piece.getPieceAllegiance().isWhite()) {
+                if (pieceType == BISHOP) {
+                    whiteBishops++;
+                } else if (pieceType == PAWN) {
+                    whitePawnFiles += 1 << ((tile % BoardUtils.NUM_TILES_PER_ROW) * FILE_BITS);
+                }
+            } else {
+                if (pieceType == BISHOP) {
+                    blackBishops++;
+                } else if (pieceType == PAWN) {
+                    blackPawnFiles += 1 << ((tile % BoardUtils.NUM_TILES_PER_ROW) * FILE_BITS);
+                }
+            }
+        }
+        final Collection<Move> whiteMoves = whitePlayer.getLegalMoves();
+        final Collection<Move> blackMoves = blackPlayer.getLegalMoves();
+        final int whiteScore = (whiteBishops == 2 ? TWO_BISHOPS_BONUS : 0) +
+                pawnFilesScore(whitePawnFiles) +
+                mobility(whiteMoves.size(), blackMoves.size()) +
+                attacks(whiteMoves) +
+                threatsAgainst(blackPlayer, depth) +
+                castle(whitePlayer);
+        final int blackScore = (blackBishops == 2 ? TWO_BISHOPS_BONUS : 0) +
+                pawnFilesScore(blackPawnFiles) +
+                mobility(blackMoves.size(), whiteMoves.size()) +
+                attacks(blackMoves) +
+                threatsAgainst(whitePlayer, depth) +
+                castle(blackPlayer);
+        return board.getPieceSquareScore() + whiteScore - blackScore;
     }
 
     public String evaluationDetails(final Board board, final int depth) {
@@ -51,15 +99,47 @@ public final class StandardBoardEvaluator
                 "Final Score = " + evaluate(board, depth);
     }
 
-    @VisibleForTesting
-    private static int score(final Player player,
-                             final int depth) {
-        return mobility(player) +
-               kingThreats(player, depth) +
-               attacks(player) +
-               castle(player) +
-               pieceEvaluations(player) +
-               pawnStructure(player);
+    private static int mobility(final int numMoves,
+                                final int numOpponentMoves) {
+        return MOBILITY_MULTIPLIER * (int)((numMoves * 10.0f) / numOpponentMoves);
+    }
+
+    private static int attacks(final Collection<Move> moves) {
+        int attackScore = 0;
+        for (final Move move : moves) {
+            if (move.isAttack() && move.getMovedPiece().getPieceValue() <= move.getAttackedPiece().getPieceValue()) {
+                attackScore++;
+            }
+        }
+        return attackScore * ATTACK_MULTIPLIER;
+    }
+
+    //what one side earns for threatening the opponent's king
+    private static int threatsAgainst(final Player opponent,
+                                   final int depth) {
+        return opponent.isInCheckMate() ? CHECK_MATE_BONUS * depthBonus(depth) : opponent.isInCheck() ? CHECK_BONUS : 0;
+    }
+
+    //the same doubled and isolated pawn penalties PawnStructureAnalyzer gives, read from the packed file counts
+    private static int pawnFilesScore(final int pawnFiles) {
+        int doubledPawns = 0;
+        int isolatedPawns = 0;
+        for (int file = 0; file < BoardUtils.NUM_TILES_PER_ROW; file++) {
+            final int pawns = pawnsOnFile(pawnFiles, file);
+            if (pawns > 1) {
+                doubledPawns += pawns;
+            }
+            if (pawns > 0 && (file == 0 || pawnsOnFile(pawnFiles, file - 1) == 0) &&
+                (file == BoardUtils.NUM_TILES_PER_ROW - 1 || pawnsOnFile(pawnFiles, file + 1) == 0)) {
+                isolatedPawns += pawns;
+            }
+        }
+        return doubledPawns * PawnStructureAnalyzer.DOUBLED_PAWN_PENALTY + isolatedPawns * PawnStructureAnalyzer.ISOLATED_PAWN_PENALTY;
+    }
+
+    private static int pawnsOnFile(final int pawnFiles,
+                                   final int file) {
+        return (pawnFiles >>> (file * FILE_BITS)) & FILE_MASK;
     }
 
     private static int attacks(final Player player) {
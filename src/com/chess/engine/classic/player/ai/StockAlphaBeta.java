@@ -3,14 +3,21 @@ package com.chess.engine.classic.player.ai;
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.BoardUtils;
 import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.PawnPromotion;
 import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.pieces.Piece;
 import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.List;
 import java.util.Observable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.chess.engine.classic.board.BoardUtils.mvvlva;
 import static com.chess.engine.classic.board.Move.MoveFactory;
@@ -19,41 +26,99 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
 
     private final BoardEvaluator evaluator;
     private final int searchDepth;
+    private final TranspositionTable transpositionTable;
+    private final ForkJoinPool pool;
+    private final SearchExtensions extensions;
     private long boardsEvaluated;
-    private int quiescenceCount;
-    private static final int MAX_QUIESCENCE = 5000 * 5;
+    private long quiescenceNodes;
+    //a capture has to be able to come this close to the window to be worth searching in quiescence
+    private static final int DELTA_MARGIN = 200;
+    //how many times along one quiescence line a side in check gets all of its evasions searched, a line of checks
+    //answered by checks could otherwise go on forever
+    private static final int QUIESCENCE_EVASIONS = 4;
 
+    //each move is scored once and the moves are ordered by score, ties keep generation order. castles come first,
+    //then captures that hold up under static exchange, then quiet moves cheapest piece first, and captures that lose
+    //material go last
     private enum MoveSorter {
 
         STANDARD {
             @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mvvlva(move2), mvvlva(move1))
-                        .result()).immutableSortedCopy(moves);
+            int score(final Move move) {
+                return baseScore(move);
             }
         },
         EXPENSIVE {
             @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(BoardUtils.kingThreat(move1), BoardUtils.kingThreat(move2))
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mvvlva(move2), mvvlva(move1))
-                        .result()).immutableSortedCopy(moves);
+            int score(final Move move) {
+                return (BoardUtils.kingThreat(move) ? CHECK_SCORE : 0) + baseScore(move);
             }
         };
 
-        abstract  Collection<Move> sort(Collection<Move> moves);
-    }
+        private static final int CHECK_SCORE = 1 << 29;
+        private static final int CASTLE_SCORE = 1 << 28;
+        private static final int GOOD_CAPTURE_SCORE = 1 << 24;
+        private static final int BAD_CAPTURE_SCORE = -(1 << 24);
+
+        abstract int score(Move move);
 
+        Collection<Move> sort(final Collection<Move> moves) {
+            final Move[] sortedMoves = moves.toArray(new Move[0]);
+            final int[] scores = new int[sortedMoves.length];
+            for (int i = 0; i < sortedMoves.length; i++) {
+                final Move move = sortedMoves[i];
+                final int score = score(move);
+                int j = i;
+                while (j > 0 && scores[j - 1] < score) {
+                    sortedMoves[j] = sortedMoves[j - 1];
+                    scores[j] = scores[j - 1];
+                    j--;
+                }
+                sortedMoves[j] = move;
+                scores[j] = score;
+            }
+            return Arrays.asList(sortedMoves);
+        }
+
+        private static int baseScore(final Move move) {
+            if (move.isCastlingMove()) {
+                return CASTLE_SCORE;
+            }
+            if (move.isAttack() || move instanceof PawnPromotion) {
+                final int exchange = BoardUtils.see(move);
+                return (exchange >= 0 ? GOOD_CAPTURE_SCORE : BAD_CAPTURE_SCORE) + exchange * 16 + mvvlva(move) / 100;
+            }
+            return mvvlva(move);
+        }
+    }
 
     public StockAlphaBeta(final int searchDepth) {
+        this(searchDepth, TranspositionTable.get());
+    }
+
+    public StockAlphaBeta(final int searchDepth,
+                          final TranspositionTable transpositionTable) {
+        this(searchDepth, transpositionTable, null);
+    }
+
+    //with a pool the root moves are scored concurrently, a null pool searches them one at a time
+    public StockAlphaBeta(final int searchDepth,
+                          final TranspositionTable transpositionTable,
+                          final ForkJoinPool pool) {
+        this(searchDepth, transpositionTable, pool, SearchExtensions.none());
+    }
+
+    public StockAlphaBeta(final int searchDepth,
+                          final TranspositionTable transpositionTable,
+                          final ForkJoinPool pool,
+                          final SearchExtensions extensions) {
         this.evaluator = StandardBoardEvaluator.get();
         this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.pool = pool;
+        this.extensions = extensions;
         this.boardsEvaluated = 0;
-        this.quiescenceCount = 0;
+        this.quiescenceNodes = 0;
     }
 
     @Override
@@ -66,26 +131,50 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
         return this.boardsEvaluated;
     }
 
+    //the part of getNumBoardsEvaluated() spent in quiescence
+    public long getNumQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
     @Override
     public Move execute(final Board board) {
         final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth +
+                (this.extensions.isEnabled() ? " extensions = " + this.extensions : ""));
+        this.transpositionTable.incrementAge();
+        final Move bestMove = this.pool == null ? searchSerial(board) : searchParallel(board);
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final String result = board.currentPlayer() + " SELECTS " +bestMove+ " [#boards evaluated = " +this.boardsEvaluated+
+                " time taken = " + executionTime /1000+ " rate = " +(1000 * ((double)this.boardsEvaluated/ executionTime));
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, quiescence = %d, time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
+                bestMove, this.boardsEvaluated, this.quiescenceNodes, executionTime, (1000 * ((double)this.boardsEvaluated/ executionTime)));
+        setChanged();
+        notifyObservers(result);
+        return bestMove;
+    }
+
+    private Move searchSerial(final Board board) {
         final Player currentPlayer = board.currentPlayer();
         Move bestMove = MoveFactory.getNullMove();
         int highestSeenValue = Integer.MIN_VALUE;
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
         int moveCounter = 1;
         int numMoves = board.currentPlayer().getLegalMoves().size();
+        final SearchHeuristics heuristics = createHeuristics();
         for (final Move move : MoveSorter.EXPENSIVE.sort((board.currentPlayer().getLegalMoves()))) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            this.quiescenceCount = 0;
+            final SearchCounters counters = new SearchCounters();
             final String s;
             if (moveTransition.getMoveStatus().isDone()) {
                 final long candidateMoveStartTime = System.nanoTime();
+                final Board toBoard = moveTransition.getToBoard();
+                final int extension = this.extensions.extension(move, toBoard, false, 0);
                 currentValue = currentPlayer.getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue) :
-                        max(moveTransition.getToBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue);
+                        min(toBoard, this.searchDepth - 1 + extension, extension, highestSeenValue, lowestSeenValue, counters, heuristics) :
+                        max(toBoard, this.searchDepth - 1 + extension, extension, highestSeenValue, lowestSeenValue, counters, heuristics);
+                this.boardsEvaluated += counters.boardsEvaluated;
+                this.quiescenceNodes += counters.quiescenceNodes;
                 if (currentPlayer.getAlliance().isWhite() && currentValue > highestSeenValue) {
                     highestSeenValue = currentValue;
                     bestMove = move;
@@ -101,7 +190,8 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
                     }
                 }
 
-                final String quiescenceInfo = " " + score(currentPlayer, highestSeenValue, lowestSeenValue) + " q: " +this.quiescenceCount;
+                final String quiescenceInfo = " " + score(currentPlayer, highestSeenValue, lowestSeenValue) + " q: " +counters.quiescenceNodes+ " delta pruned: " +counters.deltaPruned+  " see pruned: " +counters.seePruned+
+                        (this.extensions.isEnabled() ? " extended: " +counters.extensions : "");
                 s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +moveCounter+ "/" +numMoves+ ") " + move + ", best:  " + bestMove
 
                         + quiescenceInfo + ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
@@ -113,17 +203,110 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
             notifyObservers(s);
             moveCounter++;
         }
+        return bestMove;
+    }
 
-        final long executionTime = System.currentTimeMillis() - startTime;
-        final String result = board.currentPlayer() + " SELECTS " +bestMove+ " [#boards evaluated = " +this.boardsEvaluated+
-                " time taken = " + executionTime /1000+ " rate = " +(1000 * ((double)this.boardsEvaluated/ executionTime));
-        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
-                bestMove, this.boardsEvaluated, executionTime, (1000 * ((double)this.boardsEvaluated/ executionTime)));
-        setChanged();
-        notifyObservers(result);
+    //the first root move is searched alone to seed the bound, the rest run as pool tasks that share it. a task searches
+    //one point outside the shared bound so a move tying the best is scored exactly, then the results are replayed in
+    //root order with the serial rules, which picks the same move the serial search would. killers and history are
+    //kept per task, sharing them would need locking on every cutoff
+    private Move searchParallel(final Board board) {
+        final Player currentPlayer = board.currentPlayer();
+        final boolean isWhite = currentPlayer.getAlliance().isWhite();
+        final List<Move> sortedMoves = new ArrayList<>(MoveSorter.EXPENSIVE.sort(currentPlayer.getLegalMoves()));
+        final RootMoveResult[] results = new RootMoveResult[sortedMoves.size()];
+        final AtomicInteger sharedBound = new AtomicInteger(isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+        final AtomicInteger movesDone = new AtomicInteger(0);
+        final List<Callable<RootMoveResult>> tasks = new ArrayList<>();
+        for (int i = 0; i < sortedMoves.size(); i++) {
+            final int moveIndex = i;
+            tasks.add(() -> results[moveIndex] = searchRootMove(currentPlayer, sortedMoves.get(moveIndex), sharedBound,
+                    movesDone, sortedMoves.size()));
+        }
+        int firstTask = 0;
+        while (firstTask < tasks.size()) {
+            try {
+                if (tasks.get(firstTask++).call().isLegal) {
+                    break;
+                }
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        for (final Future<RootMoveResult> future : this.pool.invokeAll(tasks.subList(firstTask, tasks.size()))) {
+            try {
+                future.get();
+            } catch (final InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        Move bestMove = MoveFactory.getNullMove();
+        int bestValue = isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = 0; i < results.length; i++) {
+            final RootMoveResult result = results[i];
+            this.boardsEvaluated += result.boardsEvaluated;
+            this.quiescenceNodes += result.quiescenceNodes;
+            if (result.isLegal && result.isExact && (isWhite ? result.value > bestValue : result.value < bestValue)) {
+                bestValue = result.value;
+                bestMove = sortedMoves.get(i);
+                if (result.isCheckMate) {
+                    break;
+                }
+            }
+        }
         return bestMove;
     }
 
+    private RootMoveResult searchRootMove(final Player currentPlayer,
+                                          final Move move,
+                                          final AtomicInteger sharedBound,
+                                          final AtomicInteger movesDone,
+                                          final int numMoves) {
+        final MoveTransition moveTransition = currentPlayer.makeMove(move);
+        final RootMoveResult result = new RootMoveResult();
+        final String s;
+        if (moveTransition.getMoveStatus().isDone()) {
+            final long candidateMoveStartTime = System.nanoTime();
+            final SearchCounters counters = new SearchCounters();
+            final SearchHeuristics heuristics = createHeuristics();
+            final Board toBoard = moveTransition.getToBoard();
+            final int extension = this.extensions.extension(move, toBoard, false, 0);
+            final int bound = sharedBound.get();
+            result.isLegal = true;
+            //a mating move stops the serial scan as soon as it improves, so it must always come back exact
+            result.isCheckMate = toBoard.currentPlayer().isInCheckMate();
+            if (currentPlayer.getAlliance().isWhite()) {
+                final int alpha = bound == Integer.MIN_VALUE || result.isCheckMate ? Integer.MIN_VALUE : bound - 1;
+                result.value = min(toBoard, this.searchDepth - 1 + extension, extension, alpha, Integer.MAX_VALUE, counters, heuristics);
+                result.isExact = result.value > alpha;
+                if (result.isExact) {
+                    sharedBound.accumulateAndGet(result.value, Math::max);
+                }
+            } else {
+                final int beta = bound == Integer.MAX_VALUE || result.isCheckMate ? Integer.MAX_VALUE : bound + 1;
+                result.value = max(toBoard, this.searchDepth - 1 + extension, extension, Integer.MIN_VALUE, beta, counters, heuristics);
+                result.isExact = result.value < beta;
+                if (result.isExact) {
+                    sharedBound.accumulateAndGet(result.value, Math::min);
+                }
+            }
+            result.boardsEvaluated = counters.boardsEvaluated;
+            result.quiescenceNodes = counters.quiescenceNodes;
+            s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +movesDone.incrementAndGet()+ "/" +numMoves+ ") " + move +
+                " [score: " +result.value+ (result.isExact ? "" : " bound") + "] shared bound: " +sharedBound.get()+
+                " q: " +counters.quiescenceNodes+ " delta pruned: " +counters.deltaPruned+ " see pruned: " +counters.seePruned+ ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime()) +
+                " " + Thread.currentThread().getName();
+        } else {
+            s = "\t" + toString() + "(" +this.searchDepth + ")" + ", m: (" +movesDone.incrementAndGet()+ "/" +numMoves+ ") " + move + " is illegal!";
+        }
+        synchronized (this) {
+            System.out.println(s);
+            setChanged();
+            notifyObservers(s);
+        }
+        return result;
+    }
+
     private static String score(final Player currentPlayer,
                                 final int highestSeenValue,
                                 final int lowestSeenValue) {
@@ -138,68 +321,297 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
 
     private int max(final Board board,
                     final int depth,
+                    final int extensionsUsed,
                     final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
+                    final int lowest,
+                    final SearchCounters counters,
+                    final SearchHeuristics heuristics) {
+        //a mate at the horizon is found by the evasion search in quiescence, without building the legal moves here
+        if (depth == 0) {
+            return quiescenceMax(board, highest, lowest, QUIESCENCE_EVASIONS, counters);
+        }
+        if (BoardUtils.isEndGame(board)) {
+            counters.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentHighest = highest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
+        Move bestMove = null;
+        //an extended move keeps its depth, so the ply has to count the extensions on the way down
+        final int ply = this.searchDepth - depth + extensionsUsed;
+        final boolean isSingleReply = this.extensions.isSingleReply(board, extensionsUsed);
+        final MovePicker picker = heuristics.picker(ply);
+        picker.init(board.currentPlayer().getLegalMoves(), hashMove(board, entry), ply);
+        Move move;
+        while ((move = picker.next()) != null) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
                 final Board toBoard = moveTransition.getToBoard();
-                currentHighest = Math.max(currentHighest, min(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), currentHighest, lowest));
+                final int extension = this.extensions.extension(move, toBoard, isSingleReply, extensionsUsed);
+                counters.extensions += extension;
+                final int currentValue = min(toBoard, depth - 1 + extension, extensionsUsed + extension, currentHighest, lowest, counters, heuristics);
+                if (currentValue > currentHighest) {
+                    currentHighest = currentValue;
+                    bestMove = move;
+                }
                 if (currentHighest >= lowest) {
+                    heuristics.recordCutoff(ply, move, depth);
+                    storeEntry(board, depth, TranspositionTable.LOWER_BOUND, lowest, bestMove);
                     return lowest;
                 }
             }
         }
+        storeEntry(board, depth, TranspositionTable.calculateBound(currentHighest, highest, lowest), currentHighest, bestMove);
         return currentHighest;
     }
 
     private int min(final Board board,
                     final int depth,
+                    final int extensionsUsed,
                     final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
+                    final int lowest,
+                    final SearchCounters counters,
+                    final SearchHeuristics heuristics) {
+        //a mate at the horizon is found by the evasion search in quiescence, without building the legal moves here
+        if (depth == 0) {
+            return quiescenceMin(board, highest, lowest, QUIESCENCE_EVASIONS, counters);
+        }
+        if (BoardUtils.isEndGame(board)) {
+            counters.boardsEvaluated++;
             return this.evaluator.evaluate(board, depth);
         }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.isCutoff(entry, depth, highest, lowest)) {
+            return TranspositionTable.getScore(entry);
+        }
         int currentLowest = lowest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
+        Move bestMove = null;
+        final int ply = this.searchDepth - depth + extensionsUsed;
+        final boolean isSingleReply = this.extensions.isSingleReply(board, extensionsUsed);
+        final MovePicker picker = heuristics.picker(ply);
+        picker.init(board.currentPlayer().getLegalMoves(), hashMove(board, entry), ply);
+        Move move;
+        while ((move = picker.next()) != null) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
                 final Board toBoard = moveTransition.getToBoard();
-                currentLowest = Math.min(currentLowest, max(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), highest, currentLowest));
+                final int extension = this.extensions.extension(move, toBoard, isSingleReply, extensionsUsed);
+                counters.extensions += extension;
+                final int currentValue = max(toBoard, depth - 1 + extension, extensionsUsed + extension, highest, currentLowest, counters, heuristics);
+                if (currentValue < currentLowest) {
+                    currentLowest = currentValue;
+                    bestMove = move;
+                }
                 if (currentLowest <= highest) {
+                    heuristics.recordCutoff(ply, move, depth);
+                    storeEntry(board, depth, TranspositionTable.UPPER_BOUND, highest, bestMove);
                     return highest;
                 }
             }
         }
+        storeEntry(board, depth, TranspositionTable.calculateBound(currentLowest, highest, lowest), currentLowest, bestMove);
         return currentLowest;
     }
 
-    private int calculateQuiescenceDepth(final Board toBoard,
-                                         final int depth) {
-        if(depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-            int activityMeasure = 0;
-            if (toBoard.currentPlayer().isInCheck()) {
-                activityMeasure += 1;
+    //every extension taken along a line adds a ply the pickers have to cover
+    private SearchHeuristics createHeuristics() {
+        return new SearchHeuristics(this.searchDepth + this.extensions.getMaxExtensionsPerPath() + 1);
+    }
+
+    //an entry too shallow to cut off still knows which move was best last time
+    private static Move hashMove(final Board board,
+                                 final long entry) {
+        return entry == 0L ? null : TranspositionTable.decodeMove(board, entry);
+    }
+
+    private void storeEntry(final Board board,
+                            final int depth,
+                            final int bound,
+                            final int score,
+                            final Move bestMove) {
+        this.transpositionTable.store(board.getZobristKey(), depth, bound, score, TranspositionTable.encodeMove(bestMove));
+    }
+
+    //captures and promotions only, the side to move may also stand pat on the static score instead of capturing.
+    //a side in check can't stand pat, its evasions are searched instead. scores are fail hard like max and min
+    private int quiescenceMax(final Board board,
+                              final int highest,
+                              final int lowest,
+                              final int evasionsLeft,
+                              final SearchCounters counters) {
+        counters.quiescenceNodes++;
+        if (evasionsLeft > 0 && board.currentPlayer().isInCheck()) {
+            return evasionsMax(board, highest, lowest, evasionsLeft, counters);
+        }
+        counters.boardsEvaluated++;
+        final int standPat = this.evaluator.evaluate(board, 0);
+        if (standPat >= lowest) {
+            return lowest;
+        }
+        int currentHighest = Math.max(highest, standPat);
+        for (final Move move : winningCaptures(board, counters)) {
+            //even winning this piece for free can't lift the score up to what white already has
+            if (standPat + materialGain(move) + DELTA_MARGIN <= currentHighest) {
+                counters.deltaPruned++;
+                continue;
             }
-            for(final Move move: BoardUtils.lastNMoves(toBoard, 2)) {
-                if(move.isAttack()) {
-                    activityMeasure += 1;
-                }
+            if (!board.currentPlayer().isMoveLegal(move)) {
+                continue;
             }
-            if(activityMeasure >= 2) {
-                this.quiescenceCount++;
-                return 2;
+            final int currentValue = quiescenceMin(move.execute(), currentHighest, lowest, evasionsLeft, counters);
+            if (currentValue > currentHighest) {
+                currentHighest = currentValue;
+            }
+            if (currentHighest >= lowest) {
+                return lowest;
+            }
+        }
+        return currentHighest;
+    }
+
+    private int quiescenceMin(final Board board,
+                              final int highest,
+                              final int lowest,
+                              final int evasionsLeft,
+                              final SearchCounters counters) {
+        counters.quiescenceNodes++;
+        if (evasionsLeft > 0 && board.currentPlayer().isInCheck()) {
+            return evasionsMin(board, highest, lowest, evasionsLeft, counters);
+        }
+        counters.boardsEvaluated++;
+        final int standPat = this.evaluator.evaluate(board, 0);
+        if (standPat <= highest) {
+            return highest;
+        }
+        int currentLowest = Math.min(lowest, standPat);
+        for (final Move move : winningCaptures(board, counters)) {
+            if (standPat - materialGain(move) - DELTA_MARGIN >= currentLowest) {
+                counters.deltaPruned++;
+                continue;
+            }
+            if (!board.currentPlayer().isMoveLegal(move)) {
+                continue;
+            }
+            final int currentValue = quiescenceMax(move.execute(), highest, currentLowest, evasionsLeft, counters);
+            if (currentValue < currentLowest) {
+                currentLowest = currentValue;
+            }
+            if (currentLowest <= highest) {
+                return highest;
             }
         }
-        return depth - 1;
+        return currentLowest;
+    }
+
+    //every legal reply to the check is searched, quiet ones included. a side with none is mated
+    private int evasionsMax(final Board board,
+                            final int highest,
+                            final int lowest,
+                            final int evasionsLeft,
+                            final SearchCounters counters) {
+        int currentHighest = highest;
+        boolean hasEvasion = false;
+        for (final Move move : MoveSorter.STANDARD.sort(board.currentPlayer().getLegalMoves())) {
+            if (!board.currentPlayer().isMoveLegal(move)) {
+                continue;
+            }
+            hasEvasion = true;
+            final int currentValue = quiescenceMin(move.execute(), currentHighest, lowest, evasionsLeft - 1, counters);
+            if (currentValue > currentHighest) {
+                currentHighest = currentValue;
+            }
+            if (currentHighest >= lowest) {
+                return lowest;
+            }
+        }
+        if (!hasEvasion) {
+            counters.boardsEvaluated++;
+            return this.evaluator.evaluate(board, 0);
+        }
+        return currentHighest;
+    }
+
+    private int evasionsMin(final Board board,
+                            final int highest,
+                            final int lowest,
+                            final int evasionsLeft,
+                            final SearchCounters counters) {
+        int currentLowest = lowest;
+        boolean hasEvasion = false;
+        for (final Move move : MoveSorter.STANDARD.sort(board.currentPlayer().getLegalMoves())) {
+            if (!board.currentPlayer().isMoveLegal(move)) {
+                continue;
+            }
+            hasEvasion = true;
+            final int currentValue = quiescenceMax(move.execute(), highest, currentLowest, evasionsLeft - 1, counters);
+            if (currentValue < currentLowest) {
+                currentLowest = currentValue;
+            }
+            if (currentLowest <= highest) {
+                return highest;
+            }
+        }
+        if (!hasEvasion) {
+            counters.boardsEvaluated++;
+            return this.evaluator.evaluate(board, 0);
+        }
+        return currentLowest;
+    }
+
+    //the captures and promotions of a quiescence node in the order MoveSorter.STANDARD gives them, less the ones that
+    //lose material in the exchange, those won't beat standing pat. static exchange runs once per capture for both
+    private static Move[] winningCaptures(final Board board,
+                                          final SearchCounters counters) {
+        final Collection<Move> captureMoves = board.currentPlayer().getCaptureMoves();
+        final Move[] captures = new Move[captureMoves.size()];
+        final int[] scores = new int[captures.length];
+        int numCaptures = 0;
+        for (final Move move : captureMoves) {
+            final int exchange = BoardUtils.see(move);
+            if (exchange < 0) {
+                counters.seePruned++;
+                continue;
+            }
+            final int score = exchange * 16 + mvvlva(move) / 100;
+            int j = numCaptures++;
+            while (j > 0 && scores[j - 1] < score) {
+                captures[j] = captures[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            captures[j] = move;
+            scores[j] = score;
+        }
+        return numCaptures == captures.length ? captures : Arrays.copyOf(captures, numCaptures);
+    }
+
+    private static int materialGain(final Move move) {
+        int gain = move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0;
+        if (move instanceof PawnPromotion) {
+            gain += ((PawnPromotion) move).getPromotionPiece().getPieceValue() - Piece.PieceType.PAWN.getPieceValue();
+        }
+        return gain;
+    }
+
+    //owned by the thread searching one root move
+    private static final class SearchCounters {
+        long boardsEvaluated;
+        long quiescenceNodes;
+        long deltaPruned;
+        long seePruned;
+        long extensions;
+    }
+
+    private static final class RootMoveResult {
+        boolean isLegal;
+        boolean isExact;
+        boolean isCheckMate;
+        int value;
+        long boardsEvaluated;
+        long quiescenceNodes;
     }
 
     private static String calculateTimeTaken(final long start, final long end) {
@@ -0,0 +1,66 @@
+package com.chess.engine.classic.player.ai;
+
+public final class TimeControl {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+    //time kept back from the hard deadline to unwind the search and hand the move over
+    private static final long SAFETY_MARGIN_MILLIS = 30;
+    //a clock budget assumes this many moves are still to be played
+    private static final int EXPECTED_MOVES_TO_GO = 30;
+    private static final TimeControl INFINITE = new TimeControl(NO_LIMIT, NO_LIMIT);
+
+    private final long softLimitMillis;
+    private final long hardLimitMillis;
+
+    private TimeControl(final long softLimitMillis,
+                        final long hardLimitMillis) {
+        this.softLimitMillis = softLimitMillis;
+        this.hardLimitMillis = hardLimitMillis;
+    }
+
+    //search every depth, no deadlines
+    public static TimeControl infinite() {
+        return INFINITE;
+    }
+
+    //an iteration is only started in the first half of the budget, the next one usually costs more than everything
+    //before it, and the search is cut off when the budget runs out
+    public static TimeControl moveTime(final long moveTimeMillis) {
+        if (moveTimeMillis <= 0) {
+            throw new RuntimeException("Invalid move time " + moveTimeMillis);
+        }
+        final long hardLimit = Math.max(1, moveTimeMillis - SAFETY_MARGIN_MILLIS);
+        return new TimeControl(hardLimit / 2, hardLimit);
+    }
+
+    //spends an even share of the remaining clock plus most of the increment, and may overrun that share up to
+    //four times when an iteration is under way, but never by more than a quarter of what is left on the clock
+    public static TimeControl clock(final long remainingMillis,
+                                    final long incrementMillis) {
+        if (remainingMillis <= 0 || incrementMillis < 0) {
+            throw new RuntimeException("Invalid clock " + remainingMillis + " + " + incrementMillis);
+        }
+        final long usable = Math.max(1, remainingMillis - SAFETY_MARGIN_MILLIS);
+        final long softLimit = Math.min(usable, usable / EXPECTED_MOVES_TO_GO + incrementMillis * 3 / 4);
+        final long hardLimit = Math.min(usable, Math.max(softLimit, Math.min(softLimit * 4, usable / 4 + incrementMillis)));
+        return new TimeControl(Math.max(1, softLimit), Math.max(1, hardLimit));
+    }
+
+    public boolean isInfinite() {
+        return this.hardLimitMillis == NO_LIMIT;
+    }
+
+    public long getSoftLimitMillis() {
+        return this.softLimitMillis;
+    }
+
+    public long getHardLimitMillis() {
+        return this.hardLimitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return isInfinite() ? "infinite" : "soft = " + this.softLimitMillis + " ms, hard = " + this.hardLimitMillis + " ms";
+    }
+
+}
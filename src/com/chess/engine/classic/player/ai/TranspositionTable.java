@@ -0,0 +1,223 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.PackedMove;
+
+import java.util.Arrays;
+
+public final class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+    public static final int MAX_DEPTH = 127;
+    //the evaluator's checkmate bonus grows with the depth left where the mate is found, so the same mate scores
+    //differently from one remaining depth to another. scores this large are never reused, only their moves are.
+    //the bound sits well under the smallest mate score, the bonus at the horizon less whatever the mated side is up
+    public static final int MATE_SCORE_BOUND = 5000;
+
+    private static final int DEFAULT_SIZE_LOG2 = 20;
+    private static final int MOVE_SHIFT = 32;
+    private static final int BOUND_SHIFT = 47;
+    private static final int DEPTH_SHIFT = 49;
+    private static final int AGE_SHIFT = 56;
+    private static final long MOVE_MASK = PackedMove.IDENTITY_MASK;
+    private static final long BOUND_MASK = 0x3L;
+    private static final long DEPTH_MASK = 0x7FL;
+    private static final long AGE_MASK = 0xFFL;
+    private static final TranspositionTable INSTANCE = new TranspositionTable(DEFAULT_SIZE_LOG2, ReplacementPolicy.AGE_THEN_DEPTH);
+
+    //each slot is a key word and a data word, the key word is stored xor'ed with the data word so a slot torn by two
+    //racing writers fails the key check on probe instead of handing back another position's data
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;
+    private final ReplacementPolicy replacementPolicy;
+    private volatile int age;
+
+    public TranspositionTable(final int sizeLog2,
+                              final ReplacementPolicy replacementPolicy) {
+        if (sizeLog2 < 1 || sizeLog2 > 30) {
+            throw new RuntimeException("Invalid transposition table size 2^" + sizeLog2);
+        }
+        this.keys = new long[1 << sizeLog2];
+        this.data = new long[1 << sizeLog2];
+        this.indexMask = (1 << sizeLog2) - 1;
+        this.replacementPolicy = replacementPolicy;
+        this.age = 0;
+    }
+
+    //shared by every strategy, cleared whenever the gui starts a new game or changes the setup
+    public static TranspositionTable get() {
+        return INSTANCE;
+    }
+
+    public int getSize() {
+        return this.keys.length;
+    }
+
+    public ReplacementPolicy getReplacementPolicy() {
+        return this.replacementPolicy;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.data, 0L);
+        this.age = 0;
+    }
+
+    //called once per search so entries left over from earlier moves of the game become the first to go
+    public void incrementAge() {
+        this.age = (this.age + 1) & (int) AGE_MASK;
+    }
+
+    //returns 0 on a miss, otherwise the packed entry to read with getScore, getDepth, getBound and getMove
+    public long probe(final long key) {
+        final int index = (int) key & this.indexMask;
+        final long entry = this.data[index];
+        if (entry != 0L && (this.keys[index] ^ entry) == key) {
+            return entry;
+        }
+        return 0L;
+    }
+
+    public void store(final long key,
+                      final int depth,
+                      final int bound,
+                      final int score,
+                      final int move) {
+        final int index = (int) key & this.indexMask;
+        final long oldEntry = this.data[index];
+        final boolean isSamePosition = (this.keys[index] ^ oldEntry) == key;
+        if (oldEntry != 0L && !this.replacementPolicy.shouldReplace(oldEntry, isSamePosition, depth, this.age)) {
+            return;
+        }
+        final int storedMove = move == 0 && isSamePosition ? getMove(oldEntry) : move;
+        final long entry = (score & 0xFFFFFFFFL) |
+                           ((storedMove & MOVE_MASK) << MOVE_SHIFT) |
+                           ((bound & BOUND_MASK) << BOUND_SHIFT) |
+                           ((Math.min(Math.max(depth, 0), MAX_DEPTH) & DEPTH_MASK) << DEPTH_SHIFT) |
+                           ((this.age & AGE_MASK) << AGE_SHIFT);
+        this.data[index] = entry;
+        this.keys[index] = key ^ entry;
+    }
+
+    //permille of the first thousand slots written during the current search
+    public int hashFull() {
+        final int sample = Math.min(1000, this.data.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (this.data[i] != 0L && getAge(this.data[i]) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int getScore(final long entry) {
+        return (int) entry;
+    }
+
+    public static int getMove(final long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK);
+    }
+
+    public static int getBound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    static int getAge(final long entry) {
+        return (int) ((entry >>> AGE_SHIFT) & AGE_MASK);
+    }
+
+    public static int calculateBound(final int score,
+                                     final int alpha,
+                                     final int beta) {
+        if (score <= alpha) {
+            return UPPER_BOUND;
+        }
+        if (score >= beta) {
+            return LOWER_BOUND;
+        }
+        return EXACT;
+    }
+
+    //true when the entry alone settles a node searched to depth with the window (alpha, beta)
+    public static boolean isCutoff(final long entry,
+                                   final int depth,
+                                   final int alpha,
+                                   final int beta) {
+        if (entry == 0L || getDepth(entry) < depth) {
+            return false;
+        }
+        final int score = getScore(entry);
+        if (isMateScore(score)) {
+            return false;
+        }
+        switch (getBound(entry)) {
+            case EXACT:
+                return true;
+            case LOWER_BOUND:
+                return score >= beta;
+            case UPPER_BOUND:
+                return score <= alpha;
+            default:
+                return false;
+        }
+    }
+
+    public static boolean isMateScore(final int score) {
+        return Math.abs(score) >= MATE_SCORE_BOUND;
+    }
+
+    public static int encodeMove(final Move move) {
+        return move == null ? 0 : (int) (PackedMove.fromClassicMove(move) & MOVE_MASK);
+    }
+
+    public static Move decodeMove(final Board board,
+                                  final long entry) {
+        return PackedMove.toClassicMove(board, getMove(entry));
+    }
+
+    public enum ReplacementPolicy {
+
+        ALWAYS_REPLACE {
+            @Override
+            boolean shouldReplace(final long oldEntry,
+                                  final boolean isSamePosition,
+                                  final int depth,
+                                  final int age) {
+                return true;
+            }
+        },
+        DEPTH_PREFERRED {
+            @Override
+            boolean shouldReplace(final long oldEntry,
+                                  final boolean isSamePosition,
+                                  final int depth,
+                                  final int age) {
+                return isSamePosition || depth >= getDepth(oldEntry);
+            }
+        },
+        AGE_THEN_DEPTH {
+            @Override
+            boolean shouldReplace(final long oldEntry,
+                                  final boolean isSamePosition,
+                                  final int depth,
+                                  final int age) {
+                return isSamePosition || getAge(oldEntry) != age || depth >= getDepth(oldEntry);
+            }
+        };
+
+        abstract boolean shouldReplace(long oldEntry,
+                                       boolean isSamePosition,
+                                       int depth,
+                                       int age);
+    }
+
+}
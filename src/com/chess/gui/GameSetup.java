@@ -14,6 +14,9 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner searchThreadsSpinner;
+    private JSpinner moveTimeSpinner;
+    private JCheckBox bitBoardSearchCheckBox;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -47,6 +50,13 @@ class GameSetup extends JDialog {
 
         myPanel.add(new JLabel("Search"));
         this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        this.searchThreadsSpinner = addLabeledSpinner(myPanel, "Search Threads",
+                new SpinnerNumberModel(Runtime.getRuntime().availableProcessors(), 1, Integer.MAX_VALUE, 1));
+        //0 searches every depth, otherwise the search depth is only a ceiling for the clock
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (ms)", new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 500));
+        //searches a bitboard copy of the position, move time and threads don't apply to it
+        this.bitBoardSearchCheckBox = new JCheckBox("Bitboard Search");
+        myPanel.add(this.bitBoardSearchCheckBox);
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -108,4 +118,16 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    int getSearchThreads() {
+        return (Integer)this.searchThreadsSpinner.getValue();
+    }
+
+    int getMoveTime() {
+        return (Integer)this.moveTimeSpinner.getValue();
+    }
+
+    boolean isBitBoardSearch() {
+        return this.bitBoardSearchCheckBox.isSelected();
+    }
 }
@@ -5,9 +5,14 @@ import com.chess.engine.classic.board.Move.MoveFactory;
 import com.chess.engine.classic.pieces.Piece;
 import com.chess.engine.classic.player.Player;
 import com.chess.engine.classic.player.ai.AlphaBetaWithMoveOrdering;
+import com.chess.engine.classic.player.ai.BitBoardAlphaBeta;
+import com.chess.engine.classic.player.ai.IterativeDeepening;
+import com.chess.engine.classic.player.ai.LazySMP;
 import com.chess.engine.classic.player.ai.MiniMax;
 import com.chess.engine.classic.player.ai.StandardBoardEvaluator;
 import com.chess.engine.classic.player.ai.StockAlphaBeta;
+import com.chess.engine.classic.player.ai.TimeControl;
+import com.chess.engine.classic.player.ai.TranspositionTable;
 import com.chess.pgn.FenUtilities;
 import com.chess.pgn.MySqlGamePersistence;
 import com.google.common.collect.Lists;
@@ -248,6 +253,7 @@ public final class Table extends Observable {
         final JMenuItem setupGameMenuItem = new JMenuItem("Setup Game", KeyEvent.VK_S);
         setupGameMenuItem.addActionListener(e -> {
             Table.get().getGameSetup().promptUser();
+            TranspositionTable.get().clear();
             Table.get().setupUpdate(Table.get().getGameSetup());
         });
         optionsMenu.add(setupGameMenuItem);
@@ -394,6 +400,8 @@ public final class Table extends Observable {
             this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
         }
         this.computerMove = null;
+        //scores stored for the old game are no use in the next one
+        TranspositionTable.get().clear();
         Table.get().getMoveLog().clear();
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
@@ -492,6 +500,27 @@ public final class Table extends Observable {
             if (Table.get().getUseBook() && bookMove != MoveFactory.getNullMove()) {
                 bestMove = bookMove;
             }
+            else if (Table.get().getGameSetup().isBitBoardSearch()) {
+                final BitBoardAlphaBeta strategy = new BitBoardAlphaBeta(Math.max(1, Table.get().getGameSetup().getSearchDepth()));
+                strategy.addObserver(Table.get().getDebugPanel());
+                bestMove = strategy.execute(Table.get().getGameBoard());
+            }
+            else if (Table.get().getGameSetup().getMoveTime() > 0) {
+                final IterativeDeepening strategy = new IterativeDeepening(Table.get().getGameSetup().getSearchDepth(),
+                        TimeControl.moveTime(Table.get().getGameSetup().getMoveTime()));
+                strategy.addObserver(Table.get().getDebugPanel());
+                bestMove = strategy.execute(Table.get().getGameBoard());
+            }
+            else if (Table.get().getGameSetup().getSearchThreads() > 1) {
+                final LazySMP strategy = new LazySMP(Table.get().getGameSetup().getSearchDepth(),
+                        Table.get().getGameSetup().getSearchThreads());
+                strategy.addObserver(Table.get().getDebugPanel());
+                try {
+                    bestMove = strategy.execute(Table.get().getGameBoard());
+                } finally {
+                    strategy.shutdown();
+                }
+            }
             else {
                 final AlphaBetaWithMoveOrdering strategy = new AlphaBetaWithMoveOrdering(Table.get().getGameSetup().getSearchDepth());
                 strategy.addObserver(Table.get().getDebugPanel());